@@ -0,0 +1,44 @@
+package benchmark;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Writes the AppCDS archive of the Todo Manager jar, run by mvn -f benchmarks/pom.xml package -Pappcds.
+ * Start the server with it: java -XX:SharedArchiveFile=benchmarks/target/todo-manager.jsa -jar runTodoManagerRestAPI-1.5.5.jar
+ *
+ * Configuration (system properties):
+ *  - bench.cdsArchive: file receiving the archive, by default todo-manager.jsa next to benchmarks.jar
+ *    (benchmarks/target), whatever the working directory, so StartupBenchmark finds the archive of -Pappcds
+ */
+public final class AppCdsArchive {
+
+    private AppCdsArchive() {
+    }
+
+    private static final String FILE_NAME = "todo-manager.jsa";
+
+    /** @return file of the archive */
+    static Path path() {
+        String configured = System.getProperty("bench.cdsArchive");
+        return configured != null ? Paths.get(configured) : targetDirectory().resolve(FILE_NAME);
+    }
+
+    /** @return directory holding benchmarks.jar, or target/classes when run by the exec plugin: both are in benchmarks/target */
+    private static Path targetDirectory() {
+        try {
+            Path location = Paths.get(AppCdsArchive.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            return location.toAbsolutePath().getParent();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Could not locate the benchmarks jar, set -Dbench.cdsArchive", e);
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path archive = args.length > 0 ? Paths.get(args[0]) : path();
+        TodoManagerProcess.createAppCdsArchive(archive);
+        System.out.println("AppCDS archive of the Todo Manager written to " + archive.toAbsolutePath());
+    }
+}
@@ -0,0 +1,84 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time from launching runTodoManagerRestAPI-1.5.5.jar to its first 200 on GET /gui.
+ *
+ * classData compares the class data sharing of the server JVM:
+ *  - off: every class is loaded and verified from the jars (-Xshare:off)
+ *  - default: the JDK classes come from the archive shipped with the JDK
+ *  - appcds: the JDK and Todo Manager classes come from an AppCDS archive of the jar (AppCdsArchive)
+ *
+ * The archive is read from -Dbench.cdsArchive (default benchmarks/target/todo-manager.jsa, the one written by -Pappcds)
+ * and written first when missing.
+ * e.g. java -jar benchmarks/target/benchmarks.jar StartupBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+
+    @Param({"off", "default", "appcds"})
+    public String classData;
+
+    private List<String> jvmOptions;
+    private TodoManagerProcess server;
+
+    @Setup(Level.Trial)
+    public void prepareClassData() throws IOException, InterruptedException {
+        switch (classData) {
+            case "off":
+                jvmOptions = List.of("-Xshare:off");
+                break;
+            case "default":
+                jvmOptions = List.of();
+                break;
+            case "appcds":
+                Path archive = AppCdsArchive.path();
+                if (!Files.exists(archive)) {
+                    TodoManagerProcess.createAppCdsArchive(archive);
+                }
+                // -Xshare:on fails the launch instead of silently ignoring an archive written by another JDK
+                jvmOptions = List.of("-XX:SharedArchiveFile=" + archive.toAbsolutePath(), "-Xshare:on");
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown class data mode: " + classData);
+        }
+    }
+
+    @Benchmark
+    public String startUntilFirstResponse() throws IOException, InterruptedException {
+        server = TodoManagerProcess.start(jvmOptions);
+        return server.baseUrl();
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopServer() throws InterruptedException {
+        if (server != null) {
+            server.close();
+            server = null;
+        }
+    }
+}
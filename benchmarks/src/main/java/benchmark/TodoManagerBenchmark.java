@@ -0,0 +1,162 @@
+package benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import seed.Dataset;
+import seed.DatasetSeeder;
+import support.Payloads;
+
+/**
+ * Benchmarks the requests exercised by TodosTest and ProjectsTest against a local Todo Manager.
+ *
+ * Each benchmark reports ops/s (Throughput), average latency (AverageTime)
+ * and the latency distribution p50..p99.99 (SampleTime).
+ * e.g. java -jar benchmarks/target/benchmarks.jar -rf json -rff todo-manager.json
+ *
+ * The server can be filled with a larger dataset before measuring,
+ * e.g. -p seedTodos=50000 -p seedProjects=2000 -p seedCategories=100
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoManagerBenchmark {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+
+    @Param({"0"})
+    public int seedTodos;
+
+    @Param({"0"})
+    public int seedProjects;
+
+    @Param({"0"})
+    public int seedCategories;
+
+    private TodoManagerProcess server;
+    private HttpClient client;
+    private String baseUrl;
+    private String projectId;
+    private String categoryId;
+    private final Queue<String> createdTodoIds = new ConcurrentLinkedQueue<>();
+
+    @Setup(Level.Trial)
+    public void startServer() throws IOException, InterruptedException {
+        server = TodoManagerProcess.startOrConnect();
+        baseUrl = server.baseUrl();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        if (seedTodos > 0 || seedProjects > 0 || seedCategories > 0) {
+            Dataset dataset = new DatasetSeeder(client, baseUrl, 32).seed(seedTodos, seedProjects, seedCategories);
+            System.out.println(dataset.summary());
+        }
+
+        // A project with two tasks and a category to link to it
+        projectId = create("/projects", Payloads.PROJECT_JSON);
+        for (int i = 0; i < 2; i++) {
+            String taskId = create("/todos", Payloads.TODO_JSON);
+            send(post("/projects/" + projectId + "/tasks", "{\"id\": \"" + taskId + "\"}"));
+        }
+        categoryId = create("/categories", Payloads.CATEGORY_JSON);
+    }
+
+    /** Todos created by postTodos are deleted so every iteration starts with the same amount of data */
+    @TearDown(Level.Iteration)
+    public void deleteCreatedTodos() throws IOException, InterruptedException {
+        String id;
+        while ((id = createdTodoIds.poll()) != null) {
+            send(HttpRequest.newBuilder(URI.create(baseUrl + "/todos/" + id)).DELETE().build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() throws InterruptedException {
+        server.close();
+    }
+
+    // --------------------- /todos ----------------------
+
+    @Benchmark
+    public int getTodos() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/todos")).GET().build()).statusCode();
+    }
+
+    @Benchmark
+    public int headTodos() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/todos"))
+                .method("HEAD", HttpRequest.BodyPublishers.noBody()).build()).statusCode();
+    }
+
+    @Benchmark
+    public String postTodos() throws IOException, InterruptedException {
+        String id = idOf(send(post("/todos", Payloads.TODO_JSON)));
+        createdTodoIds.add(id);
+        return id;
+    }
+
+    // --------------------- /projects/:id ----------------------
+
+    @Benchmark
+    public int getProjectTasks() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/projects/" + projectId + "/tasks"))
+                .GET().build()).statusCode();
+    }
+
+    @Benchmark
+    public int headProjectTasks() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/projects/" + projectId + "/tasks"))
+                .method("HEAD", HttpRequest.BodyPublishers.noBody()).build()).statusCode();
+    }
+
+    @Benchmark
+    public int postProjectCategories() throws IOException, InterruptedException {
+        // Linking the same category again keeps the amount of data constant
+        return send(post("/projects/" + projectId + "/categories", "{\"id\": \"" + categoryId + "\"}")).statusCode();
+    }
+
+    // -------------- Helper Methods ------------------
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String create(String path, String json) throws IOException, InterruptedException {
+        return idOf(send(post(path, json)));
+    }
+
+    private static String idOf(HttpResponse<String> response) {
+        Matcher matcher = ID.matcher(response.body());
+        if (response.statusCode() != 201 || !matcher.find()) {
+            throw new IllegalStateException("Expected 201 Created but got " + response.statusCode() + ": " + response.body());
+        }
+        return matcher.group(1);
+    }
+}
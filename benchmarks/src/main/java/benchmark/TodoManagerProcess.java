@@ -0,0 +1,169 @@
+package benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Todo Manager REST API started in its own JVM for the benchmarks,
+ * so the server never shares CPU time or heap with the JMH harness.
+ *
+ * Configuration (system properties):
+ *  - bench.baseUrl: benchmark an already running server instead (e.g. http://localhost:4567)
+ *  - bench.jar: path of the Todo Manager jar
+ */
+final class TodoManagerProcess implements AutoCloseable {
+
+    private static final String JAR_NAME = "runTodoManagerRestAPI-1.5.5.jar";
+    private static final Duration READY_TIMEOUT = Duration.ofSeconds(30);
+    /** Exit code of the Todo Manager when Jetty fails to start, e.g. its port was taken after it was chosen */
+    private static final int SPARK_START_FAILED = 100;
+    private static final int START_ATTEMPTS = 5;
+
+    private final Process process;
+    private final String baseUrl;
+
+    private TodoManagerProcess(Process process, String baseUrl) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+    }
+
+    /** @return the server to benchmark, started on a free port unless bench.baseUrl is set */
+    static TodoManagerProcess startOrConnect() throws IOException, InterruptedException {
+        String external = System.getProperty("bench.baseUrl");
+        if (external != null) {
+            return new TodoManagerProcess(null, external);
+        }
+        return start(List.of());
+    }
+
+    /**
+     * Starts the jar on a free port and waits until GET /gui answers 200.
+     * The port can be taken between the time it is chosen and the time the server binds it,
+     * the server then exits and is started again on another port
+     * @param jvmOptions: options of the server JVM, e.g. -XX:SharedArchiveFile=...
+     * @return the running server
+     */
+    static TodoManagerProcess start(List<String> jvmOptions) throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            int port;
+            try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+                port = socket.getLocalPort();
+            }
+            TodoManagerProcess server = start(jvmOptions, port);
+            try {
+                server.awaitReady();
+                return server;
+            } catch (IllegalStateException e) {
+                if (server.process.isAlive() || server.process.exitValue() != SPARK_START_FAILED || attempt == START_ATTEMPTS) {
+                    throw e;
+                }
+                System.err.println("Todo Manager could not start on port " + port + ", starting it on another port");
+            }
+        }
+    }
+
+    private static TodoManagerProcess start(List<String> jvmOptions, int port) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.addAll(List.of("-jar", findJar().toString(), "-port=" + port));
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(new File(System.getProperty("java.io.tmpdir"), "todo-manager-benchmark.log"))
+                .start();
+        return new TodoManagerProcess(process, "http://localhost:" + port);
+    }
+
+    /**
+     * Writes an AppCDS archive of the classes the server loads to start and answer the usual requests.
+     * The archive is dumped by the JVM when the server exits through GET /shutdown, and only works
+     * with the JDK that wrote it
+     * @param archive: file receiving the archive
+     */
+    static void createAppCdsArchive(Path archive) throws IOException, InterruptedException {
+        Files.createDirectories(archive.toAbsolutePath().getParent());
+        Files.deleteIfExists(archive);
+        TodoManagerProcess server = start(List.of("-XX:ArchiveClassesAtExit=" + archive.toAbsolutePath()));
+        HttpClient client = HttpClient.newHttpClient();
+        for (String path : List.of("/todos", "/projects", "/categories", "/todos/1", "/projects/1/tasks")) {
+            client.send(HttpRequest.newBuilder(URI.create(server.baseUrl + path)).GET().build(),
+                    HttpResponse.BodyHandlers.discarding());
+        }
+        client.send(HttpRequest.newBuilder(URI.create(server.baseUrl + "/todos"))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"title\": \"archive\"}")).build(), HttpResponse.BodyHandlers.discarding());
+        try {
+            client.send(HttpRequest.newBuilder(URI.create(server.baseUrl + "/shutdown")).GET().build(),
+                    HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            // The server exits before answering
+        }
+        if (!server.process.waitFor(READY_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            server.close();
+            throw new IllegalStateException("Todo Manager did not exit after GET /shutdown");
+        }
+        if (!Files.exists(archive)) {
+            throw new IllegalStateException("The JVM did not write the AppCDS archive " + archive);
+        }
+    }
+
+    private static Path findJar() {
+        Path configured = Paths.get(System.getProperty("bench.jar", JAR_NAME));
+        if (Files.exists(configured)) {
+            return configured.toAbsolutePath();
+        }
+        // Running from the benchmarks directory
+        Path parent = Paths.get("..", JAR_NAME);
+        if (Files.exists(parent)) {
+            return parent.toAbsolutePath();
+        }
+        throw new IllegalStateException("Todo Manager jar not found, set -Dbench.jar");
+    }
+
+    private void awaitReady() throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/gui")).GET().build();
+        long deadline = System.nanoTime() + READY_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Todo Manager exited with code " + process.exitValue());
+            }
+            try {
+                // Still alive: the answer is not from a server that took the port before this one
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200 && process.isAlive()) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            // Short enough for the startup benchmark to measure the time to the first 200
+            Thread.sleep(5);
+        }
+        close();
+        throw new IllegalStateException("Todo Manager did not answer GET /gui within " + READY_TIMEOUT);
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+}
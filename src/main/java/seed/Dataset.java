@@ -0,0 +1,96 @@
+package seed;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Instances created by DatasetSeeder and how long it took to create them.
+ */
+public final class Dataset {
+
+    private final List<String> todoIds;
+    private final List<String> projectIds;
+    private final List<String> categoryIds;
+    private final int relationships;
+    private final long requests;
+    private final long nanos;
+
+    Dataset(List<String> todoIds, List<String> projectIds, List<String> categoryIds, int relationships,
+            long requests, long nanos) {
+        this.todoIds = List.copyOf(todoIds);
+        this.projectIds = List.copyOf(projectIds);
+        this.categoryIds = List.copyOf(categoryIds);
+        this.relationships = relationships;
+        this.requests = requests;
+        this.nanos = nanos;
+    }
+
+    public List<String> todoIds() {
+        return todoIds;
+    }
+
+    public List<String> projectIds() {
+        return projectIds;
+    }
+
+    public List<String> categoryIds() {
+        return categoryIds;
+    }
+
+    /** @return number of tasks and categories relationships created */
+    public int relationships() {
+        return relationships;
+    }
+
+    public Duration elapsed() {
+        return Duration.ofNanos(nanos);
+    }
+
+    /** @return requests per second sent while seeding */
+    public double throughput() {
+        return nanos == 0 ? 0 : requests / (nanos / 1e9);
+    }
+
+    /** @return one line summary, e.g. Seeded 50000 todos, 2000 projects, 100 categories, ... */
+    public String summary() {
+        return String.format("Seeded %d todos, %d projects, %d categories and %d relationships: %d requests in %.1f s (%.0f req/s)",
+                todoIds.size(), projectIds.size(), categoryIds.size(), relationships, requests, nanos / 1e9, throughput());
+    }
+
+    /**
+     * Deletes every seeded instance, their relationships are removed with them
+     * @param client: client sending the requests
+     * @param baseUrl: url of the Todo Manager
+     * @param concurrency: maximum number of requests waiting for a response
+     */
+    public void deleteAll(HttpClient client, String baseUrl, int concurrency) {
+        Semaphore inFlight = new Semaphore(concurrency);
+        List<CompletableFuture<?>> deletes = new ArrayList<>();
+        delete(client, baseUrl + "/todos/", todoIds, inFlight, deletes);
+        delete(client, baseUrl + "/projects/", projectIds, inFlight, deletes);
+        delete(client, baseUrl + "/categories/", categoryIds, inFlight, deletes);
+        CompletableFuture.allOf(deletes.toArray(new CompletableFuture[0])).join();
+    }
+
+    private static void delete(HttpClient client, String collectionUrl, List<String> ids, Semaphore inFlight,
+            List<CompletableFuture<?>> deletes) {
+        for (String id : ids) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(collectionUrl + id)).DELETE().build();
+            inFlight.acquireUninterruptibly();
+            try {
+                deletes.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, error) -> inFlight.release()));
+            } catch (RuntimeException e) {
+                inFlight.release();
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package seed;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fills the Todo Manager with a large todo/project/category graph through its REST API.
+ *
+ * Instances are created first, then linked:
+ *  - todo i is a task of project i % projects (which also makes the project a tasksof of the todo)
+ *  - todo i belongs to category i % categories
+ *  - project i belongs to category i % categories
+ * e.g. new DatasetSeeder(client, baseUrl, 32).seed(50_000, 2_000, 100)
+ *
+ * Only depends on the JDK: it is part of the main jar the benchmarks module depends on.
+ */
+public final class DatasetSeeder {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final int concurrency;
+
+    /**
+     * @param client: client sending the requests
+     * @param baseUrl: url of the Todo Manager
+     * @param concurrency: maximum number of requests waiting for a response
+     */
+    public DatasetSeeder(HttpClient client, String baseUrl, int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be at least 1");
+        }
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Creates the instances and their relationships, waits until all of them are created
+     * @param todos: number of todos to create
+     * @param projects: number of projects, the todos are spread across them as tasks
+     * @param categories: number of categories, every todo and project is put in one of them
+     * @return ids of the created instances with the time it took
+     * @throws SeedException when a request failed, with the instances created until then so they can be deleted
+     */
+    public Dataset seed(int todos, int projects, int categories) {
+        long start = System.nanoTime();
+        Semaphore inFlight = new Semaphore(concurrency);
+
+        AtomicReferenceArray<String> todoIds = new AtomicReferenceArray<>(todos);
+        AtomicReferenceArray<String> projectIds = new AtomicReferenceArray<>(projects);
+        AtomicReferenceArray<String> categoryIds = new AtomicReferenceArray<>(categories);
+        List<CompletableFuture<?>> creates = new ArrayList<>();
+        createAll(categories, "/categories",
+                i -> "{\"title\": \"seed category " + i + "\", \"description\": \"\"}", categoryIds, inFlight, creates);
+        createAll(projects, "/projects",
+                i -> "{\"title\": \"seed project " + i + "\", \"completed\": false, \"active\": true, \"description\": \"\"}",
+                projectIds, inFlight, creates);
+        createAll(todos, "/todos",
+                i -> "{\"title\": \"seed todo " + i + "\", \"doneStatus\": false, \"description\": \"\"}",
+                todoIds, inFlight, creates);
+        awaitAll(creates, () -> dataset(todoIds, projectIds, categoryIds, 0, creates.size(), start));
+
+        AtomicInteger linked = new AtomicInteger();
+        List<CompletableFuture<?>> links = new ArrayList<>();
+        for (int i = 0; i < todos; i++) {
+            if (projects > 0) {
+                links.add(link("/projects/" + projectIds.get(i % projects) + "/tasks", todoIds.get(i), inFlight, linked));
+            }
+            if (categories > 0) {
+                links.add(link("/todos/" + todoIds.get(i) + "/categories", categoryIds.get(i % categories), inFlight, linked));
+            }
+        }
+        for (int i = 0; i < projects && categories > 0; i++) {
+            links.add(link("/projects/" + projectIds.get(i) + "/categories", categoryIds.get(i % categories), inFlight, linked));
+        }
+        awaitAll(links, () -> dataset(todoIds, projectIds, categoryIds, linked.get(), creates.size() + links.size(), start));
+
+        return dataset(todoIds, projectIds, categoryIds, links.size(), creates.size() + links.size(), start);
+    }
+
+    private static Dataset dataset(AtomicReferenceArray<String> todoIds, AtomicReferenceArray<String> projectIds,
+            AtomicReferenceArray<String> categoryIds, int relationships, long requests, long start) {
+        return new Dataset(toList(todoIds), toList(projectIds), toList(categoryIds), relationships, requests,
+                System.nanoTime() - start);
+    }
+
+    private void createAll(int count, String collection, IntFunction<String> json, AtomicReferenceArray<String> ids,
+            Semaphore inFlight, List<CompletableFuture<?>> creates) {
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            creates.add(send(post(collection, json.apply(i)), inFlight).thenAccept(response -> {
+                Matcher matcher = ID.matcher(response.body());
+                if (response.statusCode() != 201 || !matcher.find()) {
+                    throw new IllegalStateException("POST " + collection + " returned " + response.statusCode()
+                            + ": " + response.body());
+                }
+                ids.set(index, matcher.group(1));
+            }));
+        }
+    }
+
+    private CompletableFuture<?> link(String relationship, String id, Semaphore inFlight, AtomicInteger linked) {
+        return send(post(relationship, "{\"id\": \"" + id + "\"}"), inFlight).thenAccept(response -> {
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("POST " + relationship + " returned " + response.statusCode()
+                        + ": " + response.body());
+            }
+            linked.incrementAndGet();
+        });
+    }
+
+    /** Waits for a free slot so no more than concurrency requests are sent at the same time */
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest request, Semaphore inFlight) {
+        inFlight.acquireUninterruptibly();
+        try {
+            return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> inFlight.release());
+        } catch (RuntimeException e) {
+            // Not sent, e.g. the client was closed: free the slot and fail like a request that got no response
+            inFlight.release();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    /** @param created: instances created so far, read once every request has completed */
+    private static void awaitAll(List<CompletableFuture<?>> futures, Supplier<Dataset> created) {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            throw new SeedException("Could not seed the dataset", e.getCause(), created.get());
+        }
+    }
+
+    /** @return ids of the instances created, leaving out the ones whose create failed */
+    private static List<String> toList(AtomicReferenceArray<String> ids) {
+        List<String> list = new ArrayList<>(ids.length());
+        for (int i = 0; i < ids.length(); i++) {
+            if (ids.get(i) != null) {
+                list.add(ids.get(i));
+            }
+        }
+        return list;
+    }
+}
@@ -0,0 +1,20 @@
+package seed;
+
+/**
+ * Thrown by DatasetSeeder when a request failed. Holds the instances created until then,
+ * so the caller can delete them.
+ */
+public final class SeedException extends IllegalStateException {
+
+    private final transient Dataset created;
+
+    SeedException(String message, Throwable cause, Dataset created) {
+        super(message, cause);
+        this.created = created;
+    }
+
+    /** @return instances created before seeding stopped, deleteAll() removes them */
+    public Dataset created() {
+        return created;
+    }
+}
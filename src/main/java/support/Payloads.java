@@ -0,0 +1,57 @@
+package support;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Message bodies used by the tests, shared with the load and benchmark tools
+ * so they send the same request shapes as TodosTest and ProjectsTest.
+ * Each call returns a new map that the caller is free to modify.
+ */
+public final class Payloads {
+
+    /** Project created by ProjectsTest */
+    public static final String PROJECT_JSON = """
+            {
+                "title": "Future Work",
+                "completed": false,
+                "active": true,
+                "description": "Work to be completed in the future"
+            }
+            """;
+
+    /** Todo created by TodosTest, as JSON for clients without a JSON library (same fields as todo()) */
+    public static final String TODO_JSON =
+            "{\"title\": \"My Todo\", \"doneStatus\": true, \"description\": \"This is a todo for the project\"}";
+
+    /** Category created by TodosTest, as JSON for clients without a JSON library (same fields as category()) */
+    public static final String CATEGORY_JSON =
+            "{\"title\": \"Category\", \"description\": \"This is a category for the project\"}";
+
+    private Payloads() {
+    }
+
+    /** @return todo created by TodosTest */
+    public static Map<String, Object> todo() {
+        Map<String, Object> todoObj = new HashMap<>();
+        todoObj.put("title", "My Todo");
+        todoObj.put("doneStatus", true);
+        todoObj.put("description", "This is a todo for the project");
+        return todoObj;
+    }
+
+    /** @return category created by TodosTest */
+    public static Map<String, Object> category() {
+        Map<String, Object> catObj = new HashMap<>();
+        catObj.put("title", "Category");
+        catObj.put("description", "This is a category for the project");
+        return catObj;
+    }
+
+    /** @return task (project) created by TodosTest */
+    public static Map<String, Object> task() {
+        Map<String, Object> taskObj = new HashMap<>();
+        taskObj.put("title", "New Task");
+        return taskObj;
+    }
+}
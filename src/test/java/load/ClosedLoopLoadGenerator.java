@@ -0,0 +1,76 @@
+package load;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import support.VirtualThreads;
+
+/**
+ * Closed model load: N workers each repeat the TodoManagerWorkload cycle as fast as the server answers,
+ * a worker only sends its next request once the previous response arrived.
+ * Workers are platform threads, or virtual threads to simulate thousands of users (Java 21).
+ * A cycle that throws is recorded as an error of the run and the worker starts its next cycle.
+ */
+public class ClosedLoopLoadGenerator {
+
+    /** Endpoint prefix of the cycles that threw, recorded as errors and followed by the next cycle */
+    static final String FAILED_CYCLE = "cycle failed: ";
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final boolean virtualThreads;
+
+    public ClosedLoopLoadGenerator(HttpClient client, String baseUrl) {
+        this(client, baseUrl, false);
+    }
+
+    /**
+     * @param client: client sending the requests
+     * @param baseUrl: url of the Todo Manager
+     * @param virtualThreads: run every worker on its own virtual thread instead of a platform thread
+     */
+    public ClosedLoopLoadGenerator(HttpClient client, String baseUrl, boolean virtualThreads) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Runs the workers for a fixed duration
+     * @param workers: number of concurrent users
+     * @param duration: how long the workers keep sending requests
+     * @return latencies and throughput per endpoint
+     */
+    public LoadResult run(int workers, Duration duration) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        ExecutorService pool = virtualThreads ? VirtualThreads.newPerTaskExecutor() : Executors.newFixedThreadPool(workers);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (int i = 0; i < workers; i++) {
+            pool.execute(() -> {
+                TodoManagerWorkload workload = new TodoManagerWorkload(client, baseUrl, recorder);
+                try {
+                    while (System.nanoTime() < end) {
+                        long cycleStart = System.nanoTime();
+                        try {
+                            workload.cycle();
+                        } catch (IOException | RuntimeException e) {
+                            // Counted as an error of the run instead of silently losing the worker
+                            recorder.record(FAILED_CYCLE + e.getClass().getSimpleName(), System.nanoTime() - cycleStart, false);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        pool.shutdown();
+        if (!pool.awaitTermination(duration.toMillis() + TimeUnit.MINUTES.toMillis(1), TimeUnit.MILLISECONDS)) {
+            pool.shutdownNow();
+        }
+        return new LoadResult(recorder, Duration.ofNanos(System.nanoTime() - start));
+    }
+}
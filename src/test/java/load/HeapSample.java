@@ -0,0 +1,14 @@
+package load;
+
+import java.util.Map;
+
+/**
+ * One reading of the server JVM taken by HeapSampler
+ * @param elapsedMillis: time since the sampler connected
+ * @param heapUsedBytes: heap used right after a full GC
+ * @param gcCount: collections since the JVM started, all collectors
+ * @param gcMillis: time spent in collections since the JVM started, all collectors
+ * @param instances: live instances of every tracked class
+ */
+public record HeapSample(long elapsedMillis, long heapUsedBytes, long gcCount, long gcMillis, Map<String, Long> instances) {
+}
@@ -0,0 +1,111 @@
+package load;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.management.JMException;
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+
+/**
+ * Heap, GC and instance counts of the JVM running the Todo Manager, read through JMX.
+ *
+ * Every sample runs the class histogram diagnostic command, which does a full GC first: the heap used
+ * right after it is the live data of the server, and the histogram gives the number of live instances
+ * of the tracked classes (e.g. ThingInstance) however they are retained.
+ * Connects to the test JVM when the server runs in process, or to a JMX service url for a server
+ * started with -Dcom.sun.management.jmxremote.port=...
+ */
+public class HeapSampler implements AutoCloseable {
+
+    private static final Pattern HISTOGRAM_LINE = Pattern.compile("^\\s*\\d+:\\s+(\\d+)\\s+\\d+\\s+(\\S+)");
+
+    private final JMXConnector connector;
+    private final MBeanServerConnection connection;
+    private final MemoryMXBean memory;
+    private final List<GarbageCollectorMXBean> collectors = new ArrayList<>();
+    private final List<String> trackedClasses;
+    private final long start = System.nanoTime();
+
+    private HeapSampler(JMXConnector connector, MBeanServerConnection connection, List<String> trackedClasses)
+            throws IOException {
+        this.connector = connector;
+        this.connection = connection;
+        this.trackedClasses = trackedClasses;
+        this.memory = ManagementFactory.newPlatformMXBeanProxy(connection, ManagementFactory.MEMORY_MXBEAN_NAME, MemoryMXBean.class);
+        for (ObjectName name : connection.queryNames(objectName(ManagementFactory.GARBAGE_COLLECTOR_MXBEAN_DOMAIN_TYPE + ",*"), null)) {
+            collectors.add(ManagementFactory.newPlatformMXBeanProxy(connection, name.toString(), GarbageCollectorMXBean.class));
+        }
+    }
+
+    /**
+     * @param jmxUrl: JMX service url of the server JVM, e.g. service:jmx:rmi:///jndi/rmi://localhost:9010/jmxrmi,
+     *                empty for the test JVM
+     * @param trackedClasses: fully qualified names of the classes whose live instances are counted
+     * @return sampler connected to the server JVM
+     */
+    public static HeapSampler connect(String jmxUrl, List<String> trackedClasses) throws IOException {
+        if (jmxUrl.isEmpty()) {
+            return new HeapSampler(null, ManagementFactory.getPlatformMBeanServer(), trackedClasses);
+        }
+        JMXConnector connector = JMXConnectorFactory.connect(new JMXServiceURL(jmxUrl));
+        return new HeapSampler(connector, connector.getMBeanServerConnection(), trackedClasses);
+    }
+
+    /** @return heap used after a full GC, GC totals since the JVM started and live instances of the tracked classes */
+    public HeapSample sample() throws IOException {
+        String histogram;
+        try {
+            histogram = (String) connection.invoke(objectName("com.sun.management:type=DiagnosticCommand"),
+                    "gcClassHistogram", new Object[] {new String[0]}, new String[] {String[].class.getName()});
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not read the class histogram of the server JVM", e);
+        }
+        long heapUsed = memory.getHeapMemoryUsage().getUsed();
+        long gcCount = 0;
+        long gcMillis = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            gcCount += Math.max(0, collector.getCollectionCount());
+            gcMillis += Math.max(0, collector.getCollectionTime());
+        }
+        return new HeapSample((System.nanoTime() - start) / 1_000_000, heapUsed, gcCount, gcMillis, instances(histogram));
+    }
+
+    private Map<String, Long> instances(String histogram) {
+        Map<String, Long> instances = new LinkedHashMap<>();
+        trackedClasses.forEach(name -> instances.put(name, 0L));
+        for (String line : histogram.split("\n")) {
+            Matcher matcher = HISTOGRAM_LINE.matcher(line);
+            // A class loaded by several class loaders has one line per loader
+            if (matcher.find() && instances.containsKey(matcher.group(2))) {
+                instances.merge(matcher.group(2), Long.parseLong(matcher.group(1)), Long::sum);
+            }
+        }
+        return instances;
+    }
+
+    private static ObjectName objectName(String name) {
+        try {
+            return new ObjectName(name);
+        } catch (JMException e) {
+            throw new IllegalArgumentException(name, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (connector != null) {
+            connector.close();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package load;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histogram (HdrHistogram, microseconds, 3 significant digits) and error count per endpoint.
+ * Endpoints are path templates such as "GET /projects/:id/tasks". Safe to record from many threads.
+ */
+public class LatencyRecorder {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    /**
+     * Records one request
+     * @param endpoint: method and path template
+     * @param nanos: time between sending the request and receiving the response
+     * @param success: false when the request failed or returned an unexpected status
+     */
+    public void record(String endpoint, long nanos, boolean success) {
+        histograms.computeIfAbsent(endpoint, key -> new ConcurrentHistogram(SIGNIFICANT_DIGITS))
+                .recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+        if (!success) {
+            errors.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        }
+    }
+
+    /** @return histogram of every endpoint, sorted by endpoint */
+    public Map<String, Histogram> histograms() {
+        return new TreeMap<>(histograms);
+    }
+
+    /** @return number of failed requests for the endpoint */
+    public long errors(String endpoint) {
+        LongAdder count = errors.get(endpoint);
+        return count == null ? 0 : count.sum();
+    }
+}
@@ -0,0 +1,73 @@
+package load;
+
+import java.time.Duration;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencies and throughput of a load run, per endpoint.
+ */
+public class LoadResult {
+
+    private final LatencyRecorder recorder;
+    private final Duration elapsed;
+
+    public LoadResult(LatencyRecorder recorder, Duration elapsed) {
+        this.recorder = recorder;
+        this.elapsed = elapsed;
+    }
+
+    /** @return number of requests sent to every endpoint */
+    public long totalRequests() {
+        return recorder.histograms().values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    /** @return number of failed requests on every endpoint */
+    public long totalErrors() {
+        return recorder.histograms().keySet().stream().mapToLong(recorder::errors).sum();
+    }
+
+    /** @return requests per second over the whole run */
+    public double throughput() {
+        return totalRequests() / seconds();
+    }
+
+    /** @return latency histogram of every endpoint, values in microseconds */
+    public Map<String, Histogram> histograms() {
+        return recorder.histograms();
+    }
+
+    public Duration elapsed() {
+        return elapsed;
+    }
+
+    /** @return table with count, errors, throughput and latency percentiles (ms) of every endpoint */
+    public String format() {
+        StringBuilder report = new StringBuilder(String.format("%-32s %8s %7s %9s %8s %8s %8s %8s %8s%n",
+                "endpoint", "count", "errors", "req/s", "p50", "p90", "p99", "p99.9", "max"));
+        for (Map.Entry<String, Histogram> entry : recorder.histograms().entrySet()) {
+            Histogram histogram = entry.getValue();
+            report.append(String.format("%-32s %8d %7d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f%n",
+                    entry.getKey(),
+                    histogram.getTotalCount(),
+                    recorder.errors(entry.getKey()),
+                    histogram.getTotalCount() / seconds(),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue())));
+        }
+        report.append(String.format("Total: %d requests, %d errors, %.1f req/s over %.1f s (latencies in ms)%n",
+                totalRequests(), totalErrors(), throughput(), seconds()));
+        return report.toString();
+    }
+
+    private double seconds() {
+        return Math.max(1, elapsed.toNanos()) / 1e9;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
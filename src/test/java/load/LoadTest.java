@@ -0,0 +1,74 @@
+package load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import support.SharedHttpClient;
+import unit.SystemTest;
+
+/**
+ * Load runs against the Todo Manager, excluded from the default build.
+ * Run with: mvn test -Pload -Dload.workers=16 -Dload.durationSeconds=60
+ * Open model options: -Dload.rate=200 (requests per second) -Dload.arrivals=POISSON|FIXED
+ * Trace replay options: -Dload.trace=target/requests.jsonl (captured with -Dhttp.capture) -Dload.speeds=1,5,20
+ * Add -Pjava21 to run the workers and the HttpClient on virtual threads.
+ * Add -Dthingifier.baseUrl=http://localhost:4567 to load a server running in its own JVM.
+ */
+@Tag("load")
+public class LoadTest extends SystemTest {
+
+    private static final int WORKERS = Integer.getInteger("load.workers", 8);
+    private static final boolean VIRTUAL_THREADS = Boolean.getBoolean("load.virtualThreads");
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.durationSeconds", 30));
+    private static final double RATE = Double.parseDouble(System.getProperty("load.rate", "100"));
+    private static final OpenModelLoadGenerator.Arrivals ARRIVALS =
+            OpenModelLoadGenerator.Arrivals.valueOf(System.getProperty("load.arrivals", "POISSON"));
+    private static final Path TRACE = Paths.get(System.getProperty("load.trace", "target/requests.jsonl"));
+    private static final double[] SPEEDS = Arrays.stream(System.getProperty("load.speeds", "1,5,20").split(","))
+            .mapToDouble(speed -> Double.parseDouble(speed.trim())).toArray();
+
+    @Test
+    @DisplayName("Closed loop load - workers repeat the create/link/read/delete cycle for a fixed duration")
+    void closedLoopLoad() throws InterruptedException {
+        LoadResult result = new ClosedLoopLoadGenerator(SharedHttpClient.get(), BASE_URL, VIRTUAL_THREADS).run(WORKERS, DURATION);
+        System.out.println("Closed loop load, " + WORKERS + (VIRTUAL_THREADS ? " virtual" : "") + " workers");
+        System.out.println(result.format());
+
+        assertTrue(result.totalRequests() > 0);
+        assertEquals(0, result.totalErrors(), "No request should fail under load");
+    }
+
+    @Test
+    @DisplayName("Open model load - requests arrive at a constant rate, latency measured from the intended send time")
+    void openModelLoad() throws InterruptedException {
+        LoadResult result = new OpenModelLoadGenerator(SharedHttpClient.get(), BASE_URL).run(RATE, ARRIVALS, DURATION);
+        System.out.println("Open model load, " + RATE + " req/s, " + ARRIVALS + " arrivals");
+        System.out.println(result.format());
+
+        // Errors are part of the result: past saturation the server is expected to fail requests
+        assertTrue(result.totalRequests() > 0);
+    }
+
+    @Test
+    @DisplayName("Trace replay - captured requests sent again at their original timing and faster")
+    void traceReplay() throws IOException, InterruptedException {
+        assumeTrue(Files.exists(TRACE), "No trace at " + TRACE + ", capture one with mvn test -Dhttp.capture=" + TRACE);
+
+        for (double speed : SPEEDS) {
+            LoadResult result = new TraceReplayer(SharedHttpClient.get(), BASE_URL).replay(TRACE, speed);
+            System.out.println("Trace replay of " + TRACE + " at " + speed + "x");
+            System.out.println(result.format());
+
+            assertTrue(result.totalRequests() > 0, "The trace should contain requests");
+        }
+    }
+}
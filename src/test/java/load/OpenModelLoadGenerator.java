@@ -0,0 +1,244 @@
+package load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import support.Payloads;
+
+/**
+ * Open model load: requests arrive at a target rate whether or not the server keeps up,
+ * the way independent users do. Arrivals are evenly spaced (FIXED) or follow a Poisson process (POISSON).
+ *
+ * Latency is measured from the time a request was scheduled to be sent, not from the time it was actually sent,
+ * so a stalled server (or a late scheduler) shows up in the percentiles instead of silently lowering the send rate
+ * (coordinated omission correction). Requests still unanswered when the drain timeout expires are recorded as failed,
+ * with their latency so far.
+ */
+public class OpenModelLoadGenerator {
+
+    /** How the time between two arrivals is chosen */
+    public enum Arrivals {
+        FIXED,
+        POISSON
+    }
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Queue<String> todoIds = new ConcurrentLinkedQueue<>();
+    private final Queue<String> projectIds = new ConcurrentLinkedQueue<>();
+    /** Requests sent and not recorded yet, each is recorded once: when answered, or as failed when the drain times out */
+    private final Map<Object, Pending> pending = new ConcurrentHashMap<>();
+
+    public OpenModelLoadGenerator(HttpClient client, String baseUrl) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Sends requests at the target rate for a fixed duration, then waits for the outstanding responses
+     * @param ratePerSecond: target arrival rate
+     * @param arrivals: FIXED or POISSON inter-arrival times
+     * @param duration: how long requests keep arriving
+     * @return latencies (from intended send time) and throughput per endpoint
+     */
+    public LoadResult run(double ratePerSecond, Arrivals arrivals, Duration duration) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+        Random random = new Random(42);
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        double intended = start;
+        long arrival = 0;
+        while (intended < end) {
+            long sendAt = (long) intended;
+            long wait = sendAt - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            CompletableFuture<?> request = arrive(arrival++, sendAt, recorder);
+            inFlight.add(request);
+            request.whenComplete((response, error) -> inFlight.remove(request));
+            intended += arrivals == Arrivals.FIXED
+                    ? meanIntervalNanos
+                    : -Math.log(1 - random.nextDouble()) * meanIntervalNanos;
+        }
+        long scheduled = System.nanoTime();
+
+        try {
+            CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0]))
+                    .get(DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            int outstanding = recordOutstanding(recorder);
+            System.err.printf("Open model load: %d responses still outstanding after %s, recorded as failed%n",
+                    outstanding, DRAIN_TIMEOUT);
+        } catch (ExecutionException e) {
+            // send handles every error, its futures never complete exceptionally
+            throw new IllegalStateException("Open model load request failed", e.getCause());
+        }
+        deleteRemaining();
+        return new LoadResult(recorder, Duration.ofNanos(scheduled - start));
+    }
+
+    /**
+     * Records the requests still unanswered as failed, with their latency so far
+     * @return number of requests recorded
+     */
+    private int recordOutstanding(LatencyRecorder recorder) {
+        long now = System.nanoTime();
+        int outstanding = 0;
+        for (Object key : pending.keySet()) {
+            Pending request = pending.remove(key);
+            // A response can arrive meanwhile: whoever removes the request records it
+            if (request != null) {
+                recorder.record(request.endpoint(), now - request.intendedNanos(), false);
+                outstanding++;
+            }
+        }
+        return outstanding;
+    }
+
+    /**
+     * Sends the request of one arrival without waiting for the response
+     * The mix cycles through reads, creates and deletes of /todos and /projects
+     */
+    private CompletableFuture<?> arrive(long arrival, long intendedNanos, LatencyRecorder recorder) {
+        switch ((int) (arrival % 8)) {
+            case 0:
+                return send("GET /todos", get("/todos"), 200, intendedNanos, recorder, null);
+            case 1:
+                return send("POST /todos", post("/todos", json(Payloads.todo())), 201, intendedNanos, recorder, todoIds);
+            case 2:
+                return byId("GET /todos/:id", "/todos/", todoIds.peek(), false, intendedNanos, recorder);
+            case 3:
+                return byId("DELETE /todos/:id", "/todos/", todoIds.poll(), true, intendedNanos, recorder);
+            case 4:
+                return send("GET /projects", get("/projects"), 200, intendedNanos, recorder, null);
+            case 5:
+                return send("POST /projects", post("/projects", Payloads.PROJECT_JSON), 201, intendedNanos, recorder, projectIds);
+            case 6:
+                return byId("GET /projects/:id", "/projects/", projectIds.peek(), false, intendedNanos, recorder);
+            default:
+                return byId("DELETE /projects/:id", "/projects/", projectIds.poll(), true, intendedNanos, recorder);
+        }
+    }
+
+    private CompletableFuture<?> byId(String endpoint, String path, String id, boolean delete,
+            long intendedNanos, LatencyRecorder recorder) {
+        if (id == null) {
+            // Nothing created yet: read the collection instead
+            String collection = path.substring(0, path.length() - 1);
+            return send("GET " + collection, get(collection), 200, intendedNanos, recorder, null);
+        }
+        HttpRequest request = delete
+                ? HttpRequest.newBuilder().uri(URI.create(baseUrl + path + id)).DELETE().build()
+                : get(path + id);
+        // The instance can be deleted by an arrival running at the same time: 404 is an expected answer
+        return send(endpoint, request, Set.of(200, 404), intendedNanos, recorder, null);
+    }
+
+    private CompletableFuture<?> send(String endpoint, HttpRequest request, int expectedStatus,
+            long intendedNanos, LatencyRecorder recorder, Queue<String> createdIds) {
+        return send(endpoint, request, Set.of(expectedStatus), intendedNanos, recorder, createdIds);
+    }
+
+    /**
+     * Sends a request without waiting and records its latency from the intended send time
+     * @param createdIds: queue receiving the id of the created instance, null when the request creates nothing
+     */
+    private CompletableFuture<?> send(String endpoint, HttpRequest request, Set<Integer> expectedStatus,
+            long intendedNanos, LatencyRecorder recorder, Queue<String> createdIds) {
+        Object key = new Object();
+        pending.put(key, new Pending(endpoint, intendedNanos));
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    if (pending.remove(key) == null) {
+                        // Already recorded as failed when the drain timed out
+                        return null;
+                    }
+                    long latency = System.nanoTime() - intendedNanos;
+                    boolean success = error == null && expectedStatus.contains(response.statusCode());
+                    if (success && createdIds != null) {
+                        try {
+                            createdIds.add(idOf(response));
+                        } catch (RuntimeException e) {
+                            System.err.println(endpoint + " answered without an id: " + e.getMessage());
+                            success = false;
+                        }
+                    }
+                    recorder.record(endpoint, latency, success);
+                    return null;
+                });
+    }
+
+    /** Instances still present when the run ends are deleted so the next run starts from the same data */
+    private void deleteRemaining() throws InterruptedException {
+        String id;
+        while ((id = todoIds.poll()) != null) {
+            deleteQuietly("/todos/" + id);
+        }
+        while ((id = projectIds.poll()) != null) {
+            deleteQuietly("/projects/" + id);
+        }
+    }
+
+    private void deleteQuietly(String path) throws InterruptedException {
+        try {
+            client.send(HttpRequest.newBuilder().uri(URI.create(baseUrl + path)).DELETE().build(),
+                    HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            System.err.println("Failed to clean up " + path + ": " + e.getMessage());
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder().uri(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + path))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static String json(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static String idOf(HttpResponse<String> response) {
+        try {
+            return objectMapper.readTree(response.body()).get("id").asText();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unexpected response body: " + response.body(), e);
+        }
+    }
+
+    /** Request sent at its intended time and not recorded yet */
+    private record Pending(String endpoint, long intendedNanos) {
+    }
+}
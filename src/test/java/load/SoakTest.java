@@ -0,0 +1,199 @@
+package load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import support.SharedHttpClient;
+import support.ThingifierServer;
+import unit.SystemTest;
+
+/**
+ * Soak run: workers repeat the create/link/unlink/delete churn of TodoManagerWorkload.churnCycle() for a long time
+ * while the heap, GC and live ThingInstance/RelationshipInstance counts of the server are sampled (HeapSampler).
+ * Every cycle removes what it created, so a heap or instance count that keeps growing from sample to sample
+ * points to instances retained by the server after their deletion.
+ *
+ * A value is flagged when its least squares growth is over its limit and it grew between at least
+ * three quarters of the consecutive samples. The first sample is taken after one interval of churn so
+ * start up allocations (JIT, class loading, connection pools) are left out.
+ * Growing instance counts fail the test, and so does a worker that stopped before the end: the samples after it stopped
+ * no longer measure the churn of every worker. Heap growth is only reported unless -Dsoak.failOnHeapGrowth=true:
+ * the heap also holds softly reachable caches that a full GC keeps until memory runs low, e.g. the class loader
+ * cache of the static file lookups Spark makes for every request path, which grows with every new id.
+ *
+ * Run with: mvn test -Psoak -Dsoak.durationMinutes=240 -Dsoak.workers=4 -Dsoak.sampleSeconds=60
+ * Limits: -Dsoak.maxHeapGrowthMbPerHour=8 -Dsoak.maxInstanceGrowthPerHour=50 -Dsoak.failOnHeapGrowth=false
+ * For a server in its own JVM add -Dthingifier.baseUrl=... -Dsoak.jmxUrl=service:jmx:rmi:///jndi/rmi://localhost:9010/jmxrmi
+ * Samples are written to target/soak-samples.csv
+ */
+@Tag("soak")
+public class SoakTest extends SystemTest {
+
+    private static final Duration DURATION = Duration.ofMinutes(Long.getLong("soak.durationMinutes", 60));
+    private static final int WORKERS = Integer.getInteger("soak.workers", 4);
+    private static final Duration SAMPLE_INTERVAL = Duration.ofSeconds(Long.getLong("soak.sampleSeconds", 60));
+    private static final String JMX_URL = System.getProperty("soak.jmxUrl", "");
+    private static final double MAX_HEAP_GROWTH_MB_PER_HOUR = Double.parseDouble(System.getProperty("soak.maxHeapGrowthMbPerHour", "8"));
+    private static final double MAX_INSTANCE_GROWTH_PER_HOUR = Double.parseDouble(System.getProperty("soak.maxInstanceGrowthPerHour", "50"));
+    private static final boolean FAIL_ON_HEAP_GROWTH = Boolean.getBoolean("soak.failOnHeapGrowth");
+    private static final double MIN_GROWING_FRACTION = 0.75;
+    private static final int MIN_SAMPLES = 4;
+    private static final List<String> TRACKED_CLASSES = List.of(
+            "uk.co.compendiumdev.thingifier.core.domain.instances.ThingInstance",
+            "uk.co.compendiumdev.thingifier.core.domain.instances.RelationshipInstance");
+    private static final Path SAMPLES_FILE = Paths.get("target", "soak-samples.csv");
+
+    @Test
+    @DisplayName("Soak - server heap and instance counts stay flat under create/link/unlink/delete churn")
+    void soak() throws IOException, InterruptedException {
+        assumeFalse(ThingifierServer.isExternal() && JMX_URL.isEmpty(),
+                "The server runs in its own JVM, set -Dsoak.jmxUrl to sample its heap");
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        List<HeapSample> samples = new ArrayList<>();
+        long start = System.nanoTime();
+        long end = start + DURATION.toNanos();
+        AtomicInteger stoppedWorkers = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(WORKERS);
+        for (int i = 0; i < WORKERS; i++) {
+            pool.execute(() -> {
+                TodoManagerWorkload workload = new TodoManagerWorkload(SharedHttpClient.get(), BASE_URL, recorder);
+                try {
+                    while (System.nanoTime() < end) {
+                        workload.churnCycle();
+                    }
+                } catch (IOException | RuntimeException e) {
+                    stoppedWorkers.incrementAndGet();
+                    System.err.println("Soak worker stopped after " + Duration.ofNanos(System.nanoTime() - start).toMinutes()
+                            + " min: " + e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        pool.shutdown();
+
+        try (HeapSampler sampler = HeapSampler.connect(JMX_URL, TRACKED_CLASSES)) {
+            long next = start + SAMPLE_INTERVAL.toNanos();
+            while (next <= end) {
+                TimeUnit.NANOSECONDS.sleep(next - System.nanoTime());
+                HeapSample sample = sampler.sample();
+                samples.add(sample);
+                System.out.println("Soak sample: " + format(sample));
+                next += SAMPLE_INTERVAL.toNanos();
+            }
+        }
+        if (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+            pool.shutdownNow();
+        }
+        writeSamples(samples);
+
+        LoadResult result = new LoadResult(recorder, Duration.ofNanos(System.nanoTime() - start));
+        System.out.println("Soak, " + WORKERS + " workers for " + DURATION.toMinutes() + " min, samples in " + SAMPLES_FILE);
+        System.out.println(result.format());
+
+        List<String> heapGrowth = new ArrayList<>();
+        check("heap used (MB)", samples, sample -> sample.heapUsedBytes() / (1024.0 * 1024), MAX_HEAP_GROWTH_MB_PER_HOUR, heapGrowth);
+        heapGrowth.forEach(growth -> System.out.println("Heap growth: " + growth));
+        List<String> leaks = new ArrayList<>();
+        for (String trackedClass : TRACKED_CLASSES) {
+            check(simpleName(trackedClass) + " instances", samples, sample -> sample.instances().get(trackedClass),
+                    MAX_INSTANCE_GROWTH_PER_HOUR, leaks);
+        }
+        if (FAIL_ON_HEAP_GROWTH) {
+            leaks.addAll(heapGrowth);
+        }
+        leaks.forEach(leak -> System.out.println("Possible leak: " + leak));
+
+        assertTrue(result.totalRequests() > 0);
+        assertEquals(0, stoppedWorkers.get(), "Every soak worker should churn until the end, see the Soak worker stopped messages");
+        assertEquals(0, result.totalErrors(), "No request should fail during the soak");
+        assertTrue(leaks.isEmpty(), "Server memory keeps growing under churn: " + leaks);
+    }
+
+    /**
+     * Flags a value that grows steadily over the samples
+     * @param limitPerHour: growth per hour above which the value is flagged
+     */
+    private static void check(String name, List<HeapSample> samples, ToDoubleFunction<HeapSample> value,
+            double limitPerHour, List<String> leaks) {
+        if (samples.size() < MIN_SAMPLES) {
+            System.out.println("Soak: " + samples.size() + " samples, at least " + MIN_SAMPLES + " are needed to check " + name);
+            return;
+        }
+        double perHour = slopePerMilli(samples, value) * TimeUnit.HOURS.toMillis(1);
+        int growing = 0;
+        for (int i = 1; i < samples.size(); i++) {
+            if (value.applyAsDouble(samples.get(i)) > value.applyAsDouble(samples.get(i - 1))) {
+                growing++;
+            }
+        }
+        double growingFraction = growing / (double) (samples.size() - 1);
+        System.out.printf("Soak: %s grew by %.1f per hour, between %.0f%% of the samples (limit %.1f per hour)%n",
+                name, perHour, growingFraction * 100, limitPerHour);
+        if (perHour > limitPerHour && growingFraction >= MIN_GROWING_FRACTION) {
+            leaks.add(String.format("%s %.1f -> %.1f (%.1f per hour)", name, value.applyAsDouble(samples.get(0)),
+                    value.applyAsDouble(samples.get(samples.size() - 1)), perHour));
+        }
+    }
+
+    /** @return least squares slope of the value over the elapsed time of the samples */
+    private static double slopePerMilli(List<HeapSample> samples, ToDoubleFunction<HeapSample> value) {
+        double meanX = samples.stream().mapToDouble(HeapSample::elapsedMillis).average().orElse(0);
+        double meanY = samples.stream().mapToDouble(value).average().orElse(0);
+        double covariance = 0;
+        double variance = 0;
+        for (HeapSample sample : samples) {
+            double dx = sample.elapsedMillis() - meanX;
+            covariance += dx * (value.applyAsDouble(sample) - meanY);
+            variance += dx * dx;
+        }
+        return variance == 0 ? 0 : covariance / variance;
+    }
+
+    private static void writeSamples(List<HeapSample> samples) throws IOException {
+        Files.createDirectories(SAMPLES_FILE.getParent());
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(SAMPLES_FILE))) {
+            List<String> header = new ArrayList<>(List.of("elapsedSeconds", "heapUsedMb", "gcCount", "gcMillis"));
+            TRACKED_CLASSES.forEach(trackedClass -> header.add(simpleName(trackedClass)));
+            csv.println(String.join(",", header));
+            for (HeapSample sample : samples) {
+                List<String> values = new ArrayList<>(List.of(String.valueOf(sample.elapsedMillis() / 1000),
+                        String.format("%.1f", sample.heapUsedBytes() / (1024.0 * 1024)),
+                        String.valueOf(sample.gcCount()), String.valueOf(sample.gcMillis())));
+                TRACKED_CLASSES.forEach(trackedClass -> values.add(String.valueOf(sample.instances().get(trackedClass))));
+                csv.println(String.join(",", values));
+            }
+        }
+    }
+
+    private static String format(HeapSample sample) {
+        StringBuilder line = new StringBuilder(String.format("%6d s, heap %.1f MB, %d GCs (%d ms)",
+                sample.elapsedMillis() / 1000, sample.heapUsedBytes() / (1024.0 * 1024), sample.gcCount(), sample.gcMillis()));
+        for (Map.Entry<String, Long> instances : sample.instances().entrySet()) {
+            line.append(", ").append(instances.getValue()).append(' ').append(simpleName(instances.getKey()));
+        }
+        return line.toString();
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+}
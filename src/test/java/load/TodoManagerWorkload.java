@@ -0,0 +1,132 @@
+package load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import support.Payloads;
+
+/**
+ * One user of the Todo Manager: creates a project, a todo and a category with the test payloads,
+ * links them, reads them back and deletes them. Every request is timed into a LatencyRecorder.
+ */
+public class TodoManagerWorkload {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final LatencyRecorder recorder;
+
+    public TodoManagerWorkload(HttpClient client, String baseUrl, LatencyRecorder recorder) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.recorder = recorder;
+    }
+
+    /** Runs one create/link/read/delete cycle, stopping early if a create fails */
+    public void cycle() throws IOException, InterruptedException {
+        String projectId = create("POST /projects", "/projects", Payloads.PROJECT_JSON);
+        String todoId = create("POST /todos", "/todos", objectMapper.writeValueAsString(Payloads.todo()));
+        String categoryId = create("POST /categories", "/categories", objectMapper.writeValueAsString(Payloads.category()));
+        try {
+            if (projectId == null || todoId == null || categoryId == null) {
+                return;
+            }
+            send("POST /projects/:id/tasks", post("/projects/" + projectId + "/tasks", idJson(todoId)), 201);
+            send("POST /todos/:id/categories", post("/todos/" + todoId + "/categories", idJson(categoryId)), 201);
+            send("GET /projects/:id/tasks", get("/projects/" + projectId + "/tasks"), 200);
+            send("GET /todos/:id", get("/todos/" + todoId), 200);
+            send("GET /todos", get("/todos"), 200);
+            send("GET /projects", get("/projects"), 200);
+        } finally {
+            delete("DELETE /todos/:id", "/todos/", todoId);
+            delete("DELETE /categories/:id", "/categories/", categoryId);
+            delete("DELETE /projects/:id", "/projects/", projectId);
+        }
+    }
+
+    /**
+     * Runs one create/link/unlink/delete cycle over every relationship between projects, todos and categories,
+     * stopping early if a create fails. Every instance and relationship it creates is removed again,
+     * so the data of the server should not grow however long it runs
+     */
+    public void churnCycle() throws IOException, InterruptedException {
+        String projectId = create("POST /projects", "/projects", Payloads.PROJECT_JSON);
+        String todoId = create("POST /todos", "/todos", objectMapper.writeValueAsString(Payloads.todo()));
+        String categoryId = create("POST /categories", "/categories", objectMapper.writeValueAsString(Payloads.category()));
+        try {
+            if (projectId == null || todoId == null || categoryId == null) {
+                return;
+            }
+            send("POST /projects/:id/tasks", post("/projects/" + projectId + "/tasks", idJson(todoId)), 201);
+            send("POST /todos/:id/categories", post("/todos/" + todoId + "/categories", idJson(categoryId)), 201);
+            send("POST /projects/:id/categories", post("/projects/" + projectId + "/categories", idJson(categoryId)), 201);
+            send("GET /todos/:id/tasksof", get("/todos/" + todoId + "/tasksof"), 200);
+            send("GET /categories/:id/projects", get("/categories/" + categoryId + "/projects"), 200);
+            send("DELETE /projects/:id/tasks/:id", delete("/projects/" + projectId + "/tasks/" + todoId), 200);
+            send("DELETE /todos/:id/categories/:id", delete("/todos/" + todoId + "/categories/" + categoryId), 200);
+            send("DELETE /projects/:id/categories/:id", delete("/projects/" + projectId + "/categories/" + categoryId), 200);
+        } finally {
+            delete("DELETE /todos/:id", "/todos/", todoId);
+            delete("DELETE /categories/:id", "/categories/", categoryId);
+            delete("DELETE /projects/:id", "/projects/", projectId);
+        }
+    }
+
+    /**
+     * Sends a request and records its latency
+     * @param endpoint: method and path template used as histogram name
+     * @param request: request to send
+     * @param expectedStatus: status code of a successful response
+     * @return the response, or null if the request failed
+     */
+    HttpResponse<String> send(String endpoint, HttpRequest request, int expectedStatus) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            recorder.record(endpoint, System.nanoTime() - start, response.statusCode() == expectedStatus);
+            return response;
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, false);
+            return null;
+        }
+    }
+
+    private String create(String endpoint, String path, String json) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(endpoint, post(path, json), 201);
+        if (response == null || response.statusCode() != 201) {
+            return null;
+        }
+        JsonNode id = objectMapper.readTree(response.body()).get("id");
+        return id == null ? null : id.asText();
+    }
+
+    private void delete(String endpoint, String path, String id) throws InterruptedException {
+        if (id != null) {
+            send(endpoint, delete(path + id), 200);
+        }
+    }
+
+    HttpRequest delete(String path) {
+        return HttpRequest.newBuilder().uri(URI.create(baseUrl + path)).DELETE().build();
+    }
+
+    HttpRequest get(String path) {
+        return HttpRequest.newBuilder().uri(URI.create(baseUrl + path)).GET().build();
+    }
+
+    HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + path))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static String idJson(String id) {
+        return "{\"id\": \"" + id + "\"}";
+    }
+}
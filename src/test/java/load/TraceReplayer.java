@@ -0,0 +1,126 @@
+package load;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import support.CapturedRequest;
+import support.Endpoints;
+
+/**
+ * Replays a trace captured by support.TrafficCapture: every request is sent at its original offset
+ * from the first request of the trace, divided by the speed multiplier (1 keeps the captured timing, 5 sends
+ * five times faster). The trace is read line by line, so traces larger than the heap can be replayed.
+ *
+ * Like the open model load, requests are sent without waiting for the previous responses and latency is measured
+ * from the intended send time. Ids in the paths are replayed as captured: replay against a server in the state
+ * it was in when the trace was captured (e.g. freshly started) to hit the same instances.
+ * Only failed exchanges and 5xx responses count as errors, the trace keeps the 4xx the tests expected.
+ */
+public class TraceReplayer {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+    // Set by the HttpClient itself
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private final HttpClient client;
+    private final String baseUrl;
+
+    public TraceReplayer(HttpClient client, String baseUrl) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Sends the requests of the trace at their captured times, then waits for the outstanding responses
+     * @param trace: JSONL file written by TrafficCapture
+     * @param speed: speed multiplier, 1 replays at the captured rate
+     * @return latencies (from intended send time) and throughput per endpoint
+     */
+    public LoadResult replay(Path trace, double speed) throws IOException, InterruptedException {
+        if (speed <= 0) {
+            throw new IllegalArgumentException("Speed multiplier must be positive: " + speed);
+        }
+        LatencyRecorder recorder = new LatencyRecorder();
+        Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+
+        long start = System.nanoTime();
+        Instant first = null;
+        try (BufferedReader reader = Files.newBufferedReader(trace, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                CapturedRequest captured = objectMapper.readValue(line, CapturedRequest.class);
+                Instant timestamp = Instant.parse(captured.timestamp());
+                if (first == null) {
+                    first = timestamp;
+                }
+                long sendAt = start + (long) (Duration.between(first, timestamp).toNanos() / speed);
+                long wait = sendAt - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                CompletableFuture<?> request = send(captured, sendAt, recorder);
+                inFlight.add(request);
+                request.whenComplete((response, error) -> inFlight.remove(request));
+            }
+        }
+        long scheduled = System.nanoTime();
+
+        try {
+            CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0]))
+                    .get(DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            System.err.println("Trace replay: responses still outstanding after " + DRAIN_TIMEOUT);
+        }
+        return new LoadResult(recorder, Duration.ofNanos(scheduled - start));
+    }
+
+    /** Sends a captured request without waiting and records its latency from the intended send time */
+    private CompletableFuture<?> send(CapturedRequest captured, long intendedNanos, LatencyRecorder recorder) {
+        URI uri = URI.create(baseUrl + captured.path());
+        String endpoint = captured.method() + " " + Endpoints.template(uri.getPath());
+        return client.sendAsync(request(captured, uri), HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    long latency = System.nanoTime() - intendedNanos;
+                    recorder.record(endpoint, latency, error == null && response.statusCode() < 500);
+                    return null;
+                });
+    }
+
+    private static HttpRequest request(CapturedRequest captured, URI uri) {
+        HttpRequest.BodyPublisher body = captured.body().isEmpty()
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(captured.body());
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).method(captured.method(), body);
+        for (Map.Entry<String, List<String>> header : captured.headers().entrySet()) {
+            if (RESTRICTED_HEADERS.contains(header.getKey().toLowerCase())) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                builder.header(header.getKey(), value);
+            }
+        }
+        return builder.build();
+    }
+}
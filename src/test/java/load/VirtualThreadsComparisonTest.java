@@ -0,0 +1,81 @@
+package load;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import support.SharedHttpClient;
+import support.ThingifierServer;
+import support.VirtualThreads;
+import unit.SystemTest;
+
+/**
+ * Client side cost of simulating many users with platform threads vs virtual threads.
+ *
+ * For every number of users the closed loop load runs twice: platform worker threads with the default
+ * HttpClient executor, then virtual worker threads with a virtual thread HttpClient executor.
+ * CPU time and memory are measured for the whole JVM, so point -Dthingifier.baseUrl to a server running
+ * in its own JVM to leave the server out of the numbers.
+ *
+ * Run with (JDK 21): mvn test -Pload,java21 -Dtest=VirtualThreadsComparisonTest -Dload.users=1000,10000
+ */
+@Tag("load")
+public class VirtualThreadsComparisonTest extends SystemTest {
+
+    private static final int[] USERS = Arrays.stream(System.getProperty("load.users", "1000,10000").split(","))
+            .mapToInt(users -> Integer.parseInt(users.trim())).toArray();
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.comparisonSeconds", 10));
+
+    @Test
+    @DisplayName("Platform vs virtual threads - client CPU and memory at growing numbers of users")
+    void compareClientThreads() throws InterruptedException {
+        assumeTrue(VirtualThreads.available(), "Virtual threads need a JDK 21, run with -Pjava21");
+
+        List<String> rows = new ArrayList<>();
+        for (int users : USERS) {
+            rows.add(run(users, false));
+            rows.add(run(users, true));
+        }
+        System.out.println("Client threads comparison over " + DURATION.toSeconds() + " s per run"
+                + (ThingifierServer.isExternal() ? "" : " (server in the same JVM, included in CPU and memory)"));
+        System.out.printf("%-8s %-9s %10s %8s %8s %10s %12s %14s%n",
+                "users", "threads", "requests", "errors", "req/s", "cpu s", "heap peak MB", "platform peak");
+        rows.forEach(System.out::println);
+    }
+
+    private String run(int users, boolean virtualThreads) throws InterruptedException {
+        SharedHttpClient client = SharedHttpClient.newClient(virtualThreads);
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        com.sun.management.OperatingSystemMXBean os =
+                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP).toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        threads.resetPeakThreadCount();
+        long cpuBefore = os.getProcessCpuTime();
+
+        LoadResult result;
+        try {
+            result = new ClosedLoopLoadGenerator(client, BASE_URL, virtualThreads).run(users, DURATION);
+        } finally {
+            client.shutdown();
+        }
+
+        double cpuSeconds = (os.getProcessCpuTime() - cpuBefore) / 1e9;
+        long heapPeak = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        assertTrue(result.totalRequests() > 0, "The load should send requests");
+        return String.format("%-8d %-9s %10d %8d %8.1f %10.1f %12.1f %14d", users, virtualThreads ? "virtual" : "platform",
+                result.totalRequests(), result.totalErrors(), result.throughput(), cpuSeconds,
+                heapPeak / (1024.0 * 1024), threads.getPeakThreadCount());
+    }
+}
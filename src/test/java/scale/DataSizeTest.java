@@ -0,0 +1,244 @@
+package scale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicContainer;
+import org.junit.jupiter.api.DynamicNode;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestFactory;
+import seed.Dataset;
+import seed.DatasetSeeder;
+import seed.SeedException;
+import support.CleanupLedger;
+import support.SharedHttpClient;
+import support.SystemState;
+import unit.SystemTest;
+
+/**
+ * Latency of key endpoints as the amount of data grows, excluded from the default build.
+ *
+ * For every size the application is seeded up to that many todos (with one project per 25 todos and
+ * one category per 1000 todos), then each endpoint is timed. The median latencies of consecutive sizes
+ * give the growth exponent of each endpoint: 0 when its latency does not depend on the data, 1 when it
+ * grows linearly. Endpoints growing faster than expected (e.g. a lookup by id that scans the whole
+ * collection) fail the last test.
+ *
+ * Run with: mvn test -Pscale -Dscale.sizes=0,1000,10000,100000 -Dscale.samples=20
+ * The check can be relaxed with -Dscale.tolerance=0.3 (exponent) and -Dscale.minGrowthMs=5
+ */
+@Tag("scale")
+public class DataSizeTest extends SystemTest {
+
+    private static final int[] SIZES = Arrays.stream(System.getProperty("scale.sizes", "0,1000,10000").split(","))
+            .mapToInt(size -> Integer.parseInt(size.trim())).sorted().toArray();
+    private static final int SAMPLES = Integer.getInteger("scale.samples", 20);
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("scale.tolerance", "0.3"));
+    // Growth of a few tenths of a millisecond is noise, not a scan of the collection
+    private static final double MIN_GROWTH_MS = Double.parseDouble(System.getProperty("scale.minGrowthMs", "5"));
+    private static final int SEED_CONCURRENCY = 32;
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+
+    private static final HttpClient client = SharedHttpClient.get();
+    private static final List<Dataset> datasets = new ArrayList<>();
+    private static final CleanupLedger ledger = new CleanupLedger(client, BASE_URL);
+
+    /** Median latency in ms of every endpoint, by size */
+    private final Map<String, Map<Integer, Double>> latencies = new LinkedHashMap<>();
+    private final Map<String, Double> expectedExponents = new LinkedHashMap<>();
+    private int seededTodos;
+    private String todoId;
+    private String projectId;
+    private String categoryId;
+
+    @TestFactory
+    @DisplayName("Latency of key endpoints at growing data sizes")
+    Stream<DynamicNode> latencyByDataSize() {
+        expectedExponents.put("GET /todos", 1.0); // The response lists every todo
+        expectedExponents.put("GET /todos/:id", 0.0);
+        expectedExponents.put("GET /projects/:id/tasks", 0.0); // Projects keep 25 tasks at every size
+        expectedExponents.put("DELETE /projects/:id/categories/:id", 0.0);
+
+        // Dynamic nodes are executed in order as the stream is consumed, so each size seeds on top of the previous one
+        Stream<DynamicNode> sizes = Arrays.stream(SIZES).mapToObj(size -> DynamicContainer.dynamicContainer(size + " todos",
+                Stream.of(
+                        DynamicTest.dynamicTest("seed " + size + " todos", () -> seedUpTo(size)),
+                        timed(size, "GET /todos", () -> get("/todos")),
+                        timed(size, "GET /todos/:id", () -> get("/todos/" + todoId)),
+                        timed(size, "GET /projects/:id/tasks", () -> get("/projects/" + projectId + "/tasks")),
+                        timed(size, "DELETE /projects/:id/categories/:id", () -> deleteProjectCategory()))));
+        return Stream.concat(sizes, Stream.of(DynamicTest.dynamicTest("latency growth is not super-linear", this::checkGrowth)));
+    }
+
+    @AfterAll
+    static void deleteDatasets(SystemState systemState) {
+        if (!systemState.reset()) {
+            for (Dataset dataset : datasets) {
+                dataset.deleteAll(client, BASE_URL, SEED_CONCURRENCY);
+            }
+            ledger.deleteAll();
+        }
+        datasets.clear();
+    }
+
+    // -------------- Sizes ------------------
+
+    /** Adds todos, projects and categories until the application holds size seeded todos */
+    private void seedUpTo(int size) throws IOException, InterruptedException {
+        if (todoId == null) {
+            // Instances timed at every size, created before the seeded ones
+            todoId = create("/todos", "{\"title\": \"timed todo\"}");
+            projectId = create("/projects", "{\"title\": \"timed project\"}");
+            categoryId = create("/categories", "{\"title\": \"timed category\"}");
+            for (int i = 0; i < 25; i++) {
+                String taskId = create("/todos", "{\"title\": \"timed task " + i + "\"}");
+                assertEquals(201, send(post("/projects/" + projectId + "/tasks", "{\"id\": \"" + taskId + "\"}")).statusCode());
+            }
+        }
+        int todos = size - seededTodos;
+        if (todos > 0) {
+            Dataset dataset;
+            try {
+                dataset = new DatasetSeeder(client, BASE_URL, SEED_CONCURRENCY)
+                        .seed(todos, Math.max(1, todos / 25), Math.max(1, todos / 1000));
+            } catch (SeedException e) {
+                // Deleted with the other datasets after the last size
+                datasets.add(e.created());
+                throw e;
+            }
+            datasets.add(dataset);
+            seededTodos = size;
+            System.out.println(dataset.summary());
+        }
+    }
+
+    /**
+     * @param size: number of seeded todos
+     * @param endpoint: endpoint timed by the test
+     * @param call: one call to the endpoint, returns its duration in nanoseconds
+     * @return test timing the endpoint SAMPLES times and recording the median
+     */
+    private DynamicTest timed(int size, String endpoint, TimedCall call) {
+        return DynamicTest.dynamicTest(endpoint, () -> {
+            call.nanos(); // Warm up
+            double[] millis = new double[SAMPLES];
+            for (int i = 0; i < SAMPLES; i++) {
+                millis[i] = call.nanos() / 1e6;
+            }
+            Arrays.sort(millis);
+            double median = millis[SAMPLES / 2];
+            latencies.computeIfAbsent(endpoint, key -> new LinkedHashMap<>()).put(size, median);
+            System.out.printf("%-40s %8d todos  median %9.2f ms  max %9.2f ms%n", endpoint, size, median, millis[SAMPLES - 1]);
+        });
+    }
+
+    /** Fits log(latency) against log(size) over the sizes with data and compares the slope with the expected one */
+    private void checkGrowth() {
+        long sizesWithData = Arrays.stream(SIZES).filter(size -> size > 0).count();
+        assumeTrue(sizesWithData >= 2, "At least two sizes above 0 are needed to measure the growth");
+
+        List<String> superLinear = new ArrayList<>();
+        for (Map.Entry<String, Map<Integer, Double>> endpoint : latencies.entrySet()) {
+            double exponent = growthExponent(endpoint.getValue());
+            double expected = expectedExponents.get(endpoint.getKey());
+            boolean flagged = exponent > expected + TOLERANCE && growthMillis(endpoint.getValue()) > MIN_GROWTH_MS;
+            System.out.printf("%-40s growth exponent %5.2f (expected %.0f)%s%n", endpoint.getKey(), exponent, expected,
+                    flagged ? "  <-- grows faster than expected" : "");
+            if (flagged) {
+                superLinear.add(String.format("%s (%.2f, expected %.0f)", endpoint.getKey(), exponent, expected));
+            }
+        }
+        assertTrue(superLinear.isEmpty(), "Latency grows faster than the data: " + String.join(", ", superLinear));
+    }
+
+    /** @return median latency at the largest size minus the one at the smallest size above 0 */
+    private static double growthMillis(Map<Integer, Double> medians) {
+        int smallest = Arrays.stream(SIZES).filter(size -> size > 0).min().orElse(0);
+        int largest = Arrays.stream(SIZES).max().orElse(0);
+        return medians.getOrDefault(largest, 0.0) - medians.getOrDefault(smallest, 0.0);
+    }
+
+    /** @return least squares slope of log(median latency) against log(size), sizes of 0 are left out */
+    private static double growthExponent(Map<Integer, Double> medians) {
+        List<double[]> points = new ArrayList<>();
+        medians.forEach((size, millis) -> {
+            if (size > 0) {
+                points.add(new double[] {Math.log(size), Math.log(Math.max(millis, 0.001))});
+            }
+        });
+        double meanX = points.stream().mapToDouble(p -> p[0]).average().orElse(0);
+        double meanY = points.stream().mapToDouble(p -> p[1]).average().orElse(0);
+        double covariance = 0;
+        double variance = 0;
+        for (double[] point : points) {
+            covariance += (point[0] - meanX) * (point[1] - meanY);
+            variance += (point[0] - meanX) * (point[0] - meanX);
+        }
+        return variance == 0 ? 0 : covariance / variance;
+    }
+
+    // -------------- Timed calls ------------------
+
+    @FunctionalInterface
+    private interface TimedCall {
+        long nanos() throws Exception;
+    }
+
+    private long get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(BASE_URL + path)).GET().build();
+        long start = System.nanoTime();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        long nanos = System.nanoTime() - start;
+        assertEquals(200, response.statusCode(), "GET " + path);
+        return nanos;
+    }
+
+    /** Links the category to the project (not timed) then times removing the link */
+    private long deleteProjectCategory() throws IOException, InterruptedException {
+        assertEquals(201, send(post("/projects/" + projectId + "/categories", "{\"id\": \"" + categoryId + "\"}")).statusCode());
+        HttpRequest request = HttpRequest.newBuilder(URI.create(BASE_URL + "/projects/" + projectId + "/categories/" + categoryId))
+                .DELETE().build();
+        long start = System.nanoTime();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        long nanos = System.nanoTime() - start;
+        assertEquals(200, response.statusCode());
+        return nanos;
+    }
+
+    // -------------- Helper Methods ------------------
+
+    private static HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(BASE_URL + path))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String create(String path, String json) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post(path, json));
+        Matcher matcher = ID.matcher(response.body());
+        assertEquals(201, response.statusCode(), "POST " + path);
+        assertTrue(matcher.find(), "POST " + path + " should return the id");
+        ledger.track(path, matcher.group(1));
+        return matcher.group(1);
+    }
+}
@@ -0,0 +1,219 @@
+package stress;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import load.LatencyRecorder;
+import load.LoadResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import support.CleanupLedger;
+import support.Payloads;
+import support.SharedHttpClient;
+import unit.SystemTest;
+
+/**
+ * Concurrent creation of todos and projects, excluded from the default build.
+ *
+ * For every concurrency level, that many workers send POST /todos and POST /projects (one of each in turn)
+ * until the requested number of instances has been created. Every create gets a unique title, then:
+ *  - every id returned by the server must be unique within its collection
+ *  - every instance must be found by GET /todos/:id or GET /projects/:id, with the title it was created with
+ * The creation throughput and latencies of every level are printed, the instances are deleted before the next level.
+ *
+ * Run with: mvn test -Pstress -Dtest=ConcurrentCreateTest -Dstress.creates=5000 -Dstress.concurrency=1,8,32,128
+ */
+@Tag("stress")
+public class ConcurrentCreateTest extends SystemTest {
+
+    private static final int CREATES = Integer.getInteger("stress.creates", 2000);
+    private static final int[] CONCURRENCY = Arrays.stream(System.getProperty("stress.concurrency", "1,8,32,128").split(","))
+            .mapToInt(level -> Integer.parseInt(level.trim())).toArray();
+    private static final List<String> COLLECTIONS = List.of("todos", "projects");
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final HttpClient client = SharedHttpClient.get();
+
+    @Test
+    @DisplayName("Concurrent POST /todos and /projects - ids stay unique and every instance can be read back")
+    void concurrentCreates() throws InterruptedException {
+        List<String> rows = new ArrayList<>();
+        List<String> problems = new ArrayList<>();
+        long totalErrors = 0;
+        for (int concurrency : CONCURRENCY) {
+            CleanupLedger ledger = new CleanupLedger(client, BASE_URL);
+            try {
+                Level level = new Level(concurrency, ledger);
+                LoadResult result = level.create();
+                List<String> levelProblems = level.verify();
+                System.out.println("Concurrent creates, " + concurrency + " workers");
+                System.out.println(result.format());
+                rows.add(String.format("%11d %9d %7d %10d %10.1f %8.2f", concurrency, level.createdCount(),
+                        result.totalErrors(), levelProblems.size(), result.throughput(),
+                        result.histograms().values().stream().mapToLong(histogram -> histogram.getValueAtPercentile(99))
+                                .max().orElse(0) / 1000.0));
+                levelProblems.forEach(problem -> problems.add(concurrency + " workers: " + problem));
+                totalErrors += result.totalErrors();
+            } finally {
+                ledger.deleteAll();
+            }
+        }
+        System.out.printf("%11s %9s %7s %10s %10s %8s%n", "concurrency", "created", "errors", "problems", "creates/s", "p99 ms");
+        rows.forEach(System.out::println);
+        problems.stream().limit(20).forEach(problem -> System.out.println("Problem: " + problem));
+
+        assertEquals(0, totalErrors, "No create should fail");
+        assertTrue(problems.isEmpty(), problems.size() + " duplicate or unreadable instances, first: "
+                + problems.stream().findFirst().orElse(""));
+    }
+
+    /** One concurrency level: the creates, then the checks of what they returned */
+    private static final class Level {
+
+        private final int concurrency;
+        private final CleanupLedger ledger;
+        private final LatencyRecorder recorder = new LatencyRecorder();
+        /** Titles sent by the creates that got each id, by collection then id */
+        private final Map<String, Map<String, List<String>>> titlesById = new ConcurrentHashMap<>();
+
+        private Level(int concurrency, CleanupLedger ledger) {
+            this.concurrency = concurrency;
+            this.ledger = ledger;
+            COLLECTIONS.forEach(collection -> titlesById.put(collection, new ConcurrentHashMap<>()));
+        }
+
+        /** @return latencies and throughput of the creates */
+        LoadResult create() throws InterruptedException {
+            long start = System.nanoTime();
+            runConcurrently(CREATES, i -> {
+                String collection = COLLECTIONS.get(i % COLLECTIONS.size());
+                String title = "stress " + concurrency + "-" + i;
+                long sent = System.nanoTime();
+                String id = null;
+                try {
+                    HttpResponse<String> response = client.send(post("/" + collection, json(collection, title)),
+                            HttpResponse.BodyHandlers.ofString());
+                    if (response.statusCode() == 201) {
+                        id = objectMapper.readTree(response.body()).get("id").asText();
+                    }
+                } catch (IOException e) {
+                    System.err.println("POST /" + collection + " failed: " + e.getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                recorder.record("POST /" + collection, System.nanoTime() - sent, id != null);
+                if (id != null) {
+                    ledger.track("/" + collection, id);
+                    titlesById.get(collection).merge(id, new ArrayList<>(List.of(title)), (titles, more) -> {
+                        titles.addAll(more);
+                        return titles;
+                    });
+                }
+            });
+            return new LoadResult(recorder, Duration.ofNanos(System.nanoTime() - start));
+        }
+
+        /** @return duplicate ids, and instances missing or holding another title when read back */
+        List<String> verify() throws InterruptedException {
+            List<String> problems = new ArrayList<>();
+            List<Created> toRead = new ArrayList<>();
+            titlesById.forEach((collection, titles) -> titles.forEach((id, sentTitles) -> {
+                if (sentTitles.size() > 1) {
+                    problems.add("id " + id + " returned by " + sentTitles.size() + " POST /" + collection + ": " + sentTitles);
+                }
+                toRead.add(new Created(collection, id, sentTitles));
+            }));
+            List<String> readProblems = new ArrayList<>();
+            runConcurrently(toRead.size(), i -> {
+                String problem = read(toRead.get(i));
+                if (problem != null) {
+                    synchronized (readProblems) {
+                        readProblems.add(problem);
+                    }
+                }
+            });
+            problems.addAll(readProblems);
+            return problems;
+        }
+
+        int createdCount() {
+            return titlesById.values().stream().mapToInt(Map::size).sum();
+        }
+
+        /** @return why the instance could not be read back, null when GET returned it with one of its titles */
+        private static String read(Created created) {
+            String path = "/" + created.collection() + "/" + created.id();
+            try {
+                HttpResponse<String> response = client.send(
+                        HttpRequest.newBuilder(URI.create(BASE_URL + path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 200) {
+                    return "GET " + path + " answered " + response.statusCode();
+                }
+                JsonNode instances = objectMapper.readTree(response.body()).get(created.collection());
+                if (instances == null || instances.size() != 1
+                        || !created.titles().contains(instances.get(0).path("title").asText())) {
+                    return "GET " + path + " should return one of " + created.titles() + " but returned " + response.body();
+                }
+                return null;
+            } catch (IOException e) {
+                return "GET " + path + " failed: " + e.getMessage();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return "GET " + path + " interrupted";
+            }
+        }
+
+        /** Runs task(0) to task(count - 1) on as many threads as the concurrency level */
+        private void runConcurrently(int count, IntConsumer task) throws InterruptedException {
+            AtomicInteger next = new AtomicInteger();
+            ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+            for (int worker = 0; worker < concurrency; worker++) {
+                pool.execute(() -> {
+                    for (int i = next.getAndIncrement(); i < count; i = next.getAndIncrement()) {
+                        task.accept(i);
+                    }
+                });
+            }
+            pool.shutdown();
+            if (!pool.awaitTermination(10, TimeUnit.MINUTES)) {
+                pool.shutdownNow();
+                throw new IllegalStateException("Concurrent requests still running after 10 minutes");
+            }
+        }
+
+        private static String json(String collection, String title) throws IOException {
+            Map<String, Object> body = collection.equals("todos") ? Payloads.todo() : Payloads.task();
+            body.put("title", title);
+            return objectMapper.writeValueAsString(body);
+        }
+
+        private static HttpRequest post(String path, String json) {
+            return HttpRequest.newBuilder()
+                    .uri(URI.create(BASE_URL + path))
+                    .POST(HttpRequest.BodyPublishers.ofString(json))
+                    .build();
+        }
+    }
+
+    /** Instance returned by one or more creates, with the titles they sent */
+    private record Created(String collection, String id, List<String> titles) {
+    }
+}
@@ -0,0 +1,357 @@
+package stress;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import load.LatencyRecorder;
+import load.LoadResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import support.CleanupLedger;
+import support.SharedHttpClient;
+import unit.SystemTest;
+
+/**
+ * Workers link and unlink the same projects, todos and categories at the same time, excluded from the default build.
+ *
+ * The test creates a few project/todo/category triples shared by every worker, and one todo per worker. Each operation is either:
+ *  - contended: a random shared todo is linked to or unlinked from a random shared project or category, by every worker.
+ *    The final state of these links depends on the order the server applied them, so only their consistency is checked
+ *  - owned: the worker's own todo is linked to or unlinked from a random shared project or category. Only that worker
+ *    changes these links, so it knows their final state, while the server still updates the shared instances concurrently
+ * Once every worker is done the links are read back:
+ *  - a project lists a todo in /projects/:id/tasks exactly when the todo lists the project in /todos/:id/tasksof
+ *  - the owned links are the ones their worker left: a missing link was lost, an extra link is dangling
+ * Relationship operations per second and latencies are printed. Todos -> categories has no reverse relationship in the
+ * Todo Manager (/categories/:id/todos stays empty), so only its owned links are checked.
+ *
+ * Todo Manager 1.5.5 breaks under the concurrent run (400 ConcurrentModificationException, lost links, relationships
+ * GET can no longer read): that test checks the failures are this known defect. The one worker run checks that the
+ * verification itself reports nothing when there is no contention.
+ *
+ * Run with: mvn test -Pstress -Dtest=RelationshipContentionTest -Dstress.workers=32 -Dstress.operations=10000
+ *   -Dstress.triples=4
+ */
+@Tag("stress")
+public class RelationshipContentionTest extends SystemTest {
+
+    private static final int WORKERS = Integer.getInteger("stress.workers", 32);
+    private static final int OPERATIONS = Integer.getInteger("stress.operations", 4000);
+    private static final int TRIPLES = Integer.getInteger("stress.triples", 4);
+    private static final Pattern ID_IN_PATH = Pattern.compile("/\\d+");
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final HttpClient client = SharedHttpClient.get();
+
+    private final CleanupLedger ledger = new CleanupLedger(client, BASE_URL);
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final List<String> projects = new ArrayList<>();
+    private final List<String> sharedTodos = new ArrayList<>();
+    private final List<String> categories = new ArrayList<>();
+    /** Links each worker left between its own todo and the shared projects and categories, by todo */
+    private final Map<String, Set<String>> expectedProjects = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> expectedCategories = new ConcurrentHashMap<>();
+    /** Number of failed operations by endpoint and answer */
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+    /** Failed operations that are not the known Todo Manager defect, by endpoint and answer */
+    private final Set<String> unexpectedFailures = ConcurrentHashMap.newKeySet();
+    /** Owned links whose last operation failed, their state is unknown */
+    private final Set<String> uncertainLinks = ConcurrentHashMap.newKeySet();
+
+    @AfterEach
+    void cleanUp() {
+        ledger.deleteAll();
+    }
+
+    /**
+     * BUG: the Todo Manager does not synchronize its relationships. Concurrent link/unlink answers 400 (ConcurrentModificationException,
+     * null RelationshipInstance, arraycopy out of bounds), unlink answers 404 for links it lost, and links end up one-sided,
+     * lost or unreadable. Every operation should succeed and every link should be consistent.
+     * Only the known defect is accepted: once the Todo Manager is fixed, assert no error and no problem as singleWorker does.
+     */
+    @Test
+    @DisplayName("BUG: Concurrent link/unlink of shared projects, todos and categories - answers 400 and loses links")
+    void relationshipContention() throws IOException, InterruptedException {
+        Outcome outcome = run(WORKERS);
+
+        assertTrue(unexpectedFailures.isEmpty(), "Only 400 answers and 404 on unlink are the known defect, also failed: "
+                + unexpectedFailures);
+        assertTrue(outcome.errors() > 0 || !outcome.problems().isEmpty(),
+                "No failure or problem under contention, the Todo Manager may be fixed: assert no error and no problem instead");
+    }
+
+    @Test
+    @DisplayName("One worker link/unlink of shared projects, todos and categories - the checks find no problem without contention")
+    void singleWorker() throws IOException, InterruptedException {
+        Outcome outcome = run(1);
+
+        assertEquals(0, outcome.errors(), "No relationship operation should fail");
+        assertTrue(outcome.problems().isEmpty(), outcome.problems().size() + " lost, dangling or one-sided links, first: "
+                + outcome.problems().stream().findFirst().orElse(""));
+    }
+
+    /**
+     * Creates the triples and one todo per worker, runs the operations, then checks the links
+     * @return the number of failed operations and the link problems, both printed with the latencies
+     */
+    private Outcome run(int workers) throws IOException, InterruptedException {
+        for (int i = 0; i < TRIPLES; i++) {
+            projects.add(create("projects", "contended project " + i));
+            sharedTodos.add(create("todos", "contended todo " + i));
+            categories.add(create("categories", "contended category " + i));
+        }
+        List<String> ownTodos = new ArrayList<>();
+        for (int worker = 0; worker < workers; worker++) {
+            String todoId = create("todos", "worker todo " + worker);
+            ownTodos.add(todoId);
+            expectedProjects.put(todoId, new HashSet<>());
+            expectedCategories.put(todoId, new HashSet<>());
+        }
+
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        long start = System.nanoTime();
+        for (String ownTodo : ownTodos) {
+            pool.execute(() -> {
+                try {
+                    while (next.getAndIncrement() < OPERATIONS) {
+                        if (ThreadLocalRandom.current().nextBoolean()) {
+                            contendedOperation();
+                        } else {
+                            ownedOperation(ownTodo);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        pool.shutdown();
+        if (!pool.awaitTermination(10, TimeUnit.MINUTES)) {
+            pool.shutdownNow();
+            throw new IllegalStateException("Relationship operations still running after 10 minutes");
+        }
+        LoadResult result = new LoadResult(recorder, Duration.ofNanos(System.nanoTime() - start));
+
+        List<String> allTodos = new ArrayList<>(sharedTodos);
+        allTodos.addAll(ownTodos);
+        List<String> problems = verify(allTodos, ownTodos);
+
+        System.out.println("Relationship contention, " + workers + " workers on " + TRIPLES + " project/todo/category triples");
+        System.out.println(result.format());
+        System.out.printf("%.1f relationship operations/s, %d problems, %d owned links left unchecked after a failed operation%n",
+                result.throughput(), problems.size(), uncertainLinks.size());
+        failures.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue(Comparator.comparingLong(LongAdder::sum).reversed()))
+                .limit(20)
+                .forEach(failure -> System.out.printf("Failed %5d x %s%n", failure.getValue().sum(), failure.getKey()));
+        problems.stream().limit(20).forEach(problem -> System.out.println("Problem: " + problem));
+        return new Outcome(result.totalErrors(), problems);
+    }
+
+    /** Links or unlinks a shared todo, an unlink may find the link already removed by another worker */
+    private void contendedOperation() throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String todoId = sharedTodos.get(random.nextInt(sharedTodos.size()));
+        boolean link = random.nextBoolean();
+        if (random.nextBoolean()) {
+            String projectId = projects.get(random.nextInt(projects.size()));
+            if (link) {
+                send("POST /projects/:id/tasks", post("/projects/" + projectId + "/tasks", idJson(todoId)), 201);
+            } else {
+                send("DELETE /projects/:id/tasks/:id", delete("/projects/" + projectId + "/tasks/" + todoId), 200, 404);
+            }
+        } else {
+            String categoryId = categories.get(random.nextInt(categories.size()));
+            if (link) {
+                send("POST /todos/:id/categories", post("/todos/" + todoId + "/categories", idJson(categoryId)), 201);
+            } else {
+                send("DELETE /todos/:id/categories/:id", delete("/todos/" + todoId + "/categories/" + categoryId), 200, 404);
+            }
+        }
+    }
+
+    /** Flips one link of the worker's own todo, the only one changing it, so the outcome is known */
+    private void ownedOperation(String todoId) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean succeeded;
+        String link;
+        if (random.nextBoolean()) {
+            String projectId = projects.get(random.nextInt(projects.size()));
+            Set<String> linked = expectedProjects.get(todoId);
+            link = "project " + projectId + " -> todo " + todoId;
+            if (linked.contains(projectId)) {
+                succeeded = send("DELETE /projects/:id/tasks/:id", delete("/projects/" + projectId + "/tasks/" + todoId), 200);
+                linked.remove(projectId);
+            } else {
+                succeeded = send("POST /projects/:id/tasks", post("/projects/" + projectId + "/tasks", idJson(todoId)), 201);
+                linked.add(projectId);
+            }
+        } else {
+            String categoryId = categories.get(random.nextInt(categories.size()));
+            Set<String> linked = expectedCategories.get(todoId);
+            link = "todo " + todoId + " -> category " + categoryId;
+            if (linked.contains(categoryId)) {
+                succeeded = send("DELETE /todos/:id/categories/:id", delete("/todos/" + todoId + "/categories/" + categoryId), 200);
+                linked.remove(categoryId);
+            } else {
+                succeeded = send("POST /todos/:id/categories", post("/todos/" + todoId + "/categories", idJson(categoryId)), 201);
+                linked.add(categoryId);
+            }
+        }
+        if (succeeded) {
+            uncertainLinks.remove(link);
+        } else {
+            uncertainLinks.add(link);
+        }
+    }
+
+    /** @return links missing or present on one side only, and owned links that differ from what their worker left */
+    private List<String> verify(List<String> allTodos, List<String> ownTodos) throws IOException, InterruptedException {
+        List<String> problems = new ArrayList<>();
+        Map<String, Set<String>> tasks = new LinkedHashMap<>();
+        for (String projectId : projects) {
+            tasks.put(projectId, ids("/projects/" + projectId + "/tasks", "todos", problems));
+        }
+        Map<String, Set<String>> tasksOf = new LinkedHashMap<>();
+        for (String todoId : allTodos) {
+            tasksOf.put(todoId, ids("/todos/" + todoId + "/tasksof", "projects", problems));
+        }
+        for (String projectId : projects) {
+            for (String todoId : allTodos) {
+                if (tasks.get(projectId) == null || tasksOf.get(todoId) == null) {
+                    continue;
+                }
+                boolean inTasks = tasks.get(projectId).contains(todoId);
+                boolean inTasksOf = tasksOf.get(todoId).contains(projectId);
+                if (inTasks != inTasksOf) {
+                    problems.add("one-sided link: project " + projectId + (inTasks ? " lists" : " does not list") + " todo "
+                            + todoId + " in tasks, the todo" + (inTasksOf ? " lists" : " does not list") + " it in tasksof");
+                }
+            }
+        }
+        for (String todoId : ownTodos) {
+            Set<String> linkedCategories = ids("/todos/" + todoId + "/categories", "categories", problems);
+            for (String projectId : projects) {
+                if (tasks.get(projectId) == null) {
+                    continue;
+                }
+                check("project " + projectId + " -> todo " + todoId, expectedProjects.get(todoId).contains(projectId),
+                        tasks.get(projectId).contains(todoId), problems);
+            }
+            for (String categoryId : categories) {
+                if (linkedCategories == null) {
+                    continue;
+                }
+                check("todo " + todoId + " -> category " + categoryId, expectedCategories.get(todoId).contains(categoryId),
+                        linkedCategories.contains(categoryId), problems);
+            }
+        }
+        return problems;
+    }
+
+    private void check(String link, boolean expected, boolean present, List<String> problems) {
+        if (expected != present && !uncertainLinks.contains(link)) {
+            problems.add((expected ? "lost link: " : "dangling link: ") + link);
+        }
+    }
+
+    /**
+     * Sends a relationship operation and records its latency
+     * @param expectedStatuses: status codes of a successful operation
+     * @return true when the server answered one of the expected statuses
+     */
+    private boolean send(String endpoint, HttpRequest request, int... expectedStatuses) throws InterruptedException {
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            for (int expectedStatus : expectedStatuses) {
+                succeeded |= response.statusCode() == expectedStatus;
+            }
+            if (!succeeded) {
+                String failure = endpoint + " answered " + response.statusCode() + ": "
+                        + ID_IN_PATH.matcher(response.body()).replaceAll("/:id");
+                failures.computeIfAbsent(failure, key -> new LongAdder()).increment();
+                if (response.statusCode() != 400 && !(response.statusCode() == 404 && endpoint.startsWith("DELETE"))) {
+                    unexpectedFailures.add(failure);
+                }
+            }
+        } catch (IOException e) {
+            failures.computeIfAbsent(endpoint + " failed: " + e, key -> new LongAdder()).increment();
+            unexpectedFailures.add(endpoint + " failed: " + e);
+        }
+        recorder.record(endpoint, System.nanoTime() - start, succeeded);
+        return succeeded;
+    }
+
+    /**
+     * @return ids of the instances listed under the key by GET path, null when the relationship cannot be read,
+     * e.g. after a concurrent update left it broken
+     */
+    private static Set<String> ids(String path, String key, List<String> problems) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(BASE_URL + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            problems.add("unreadable relationship: GET " + path + " answered " + response.statusCode() + ": " + response.body());
+            return null;
+        }
+        Set<String> ids = new HashSet<>();
+        for (JsonNode instance : objectMapper.readTree(response.body()).path(key)) {
+            ids.add(instance.get("id").asText());
+        }
+        return ids;
+    }
+
+    private String create(String collection, String title) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(post("/" + collection, "{\"title\": \"" + title + "\"}"),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(201, response.statusCode(), "POST /" + collection + " returned " + response.body());
+        String id = objectMapper.readTree(response.body()).get("id").asText();
+        ledger.track("/" + collection, id);
+        return id;
+    }
+
+    private static HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(BASE_URL + path))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static HttpRequest delete(String path) {
+        return HttpRequest.newBuilder().uri(URI.create(BASE_URL + path)).DELETE().build();
+    }
+
+    private static String idJson(String id) {
+        return "{\"id\": \"" + id + "\"}";
+    }
+
+    /** Failed operations and link problems of one run */
+    private record Outcome(long errors, List<String> problems) {
+    }
+}
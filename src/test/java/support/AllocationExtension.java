@@ -0,0 +1,98 @@
+package support;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Measures the bytes allocated by each test, including its @BeforeEach and @AfterEach methods,
+ * and publishes them so SuiteReportListener can print the total at the end of the run.
+ *
+ * Counts the test thread and the executor threads of the shared HttpClient (body handlers run there), not the
+ * threads of the in-process server or of other clients such as the HealthWatchdog. A client thread started during
+ * the test is left out, as its allocations before the test cannot be told apart. When tests run in parallel the
+ * HttpClient threads are shared, so only the test thread is counted. When the shared HttpClient runs on virtual threads
+ * (-Dhttp.client.virtualThreads) its work cannot be attributed to any thread it can list, so the allocations are reported
+ * as unavailable instead of leaving the client out.
+ */
+public class AllocationExtension implements BeforeEachCallback, AfterEachCallback {
+
+    static final String REPORT_KEY = "allocated";
+    /** Report value of a test whose allocations could not be measured */
+    static final String UNAVAILABLE = "unavailable";
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(AllocationExtension.class);
+    private static final String PARALLEL_ENABLED = "junit.jupiter.execution.parallel.enabled";
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        if (THREADS == null) {
+            return;
+        }
+        if (includeClientThreads(context) && SharedHttpClient.get().virtualThreads()) {
+            context.publishReportEntry(REPORT_KEY, UNAVAILABLE);
+            return;
+        }
+        Map<Long, Long> before = includeClientThreads(context) ? clientThreadBytes() : new HashMap<>();
+        // Read last so listing the client threads is not counted
+        before.put(Thread.currentThread().getId(), THREADS.getCurrentThreadAllocatedBytes());
+        context.getStore(NAMESPACE).put(REPORT_KEY, before);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        @SuppressWarnings("unchecked")
+        Map<Long, Long> before = context.getStore(NAMESPACE).remove(REPORT_KEY, Map.class);
+        if (before == null) {
+            return;
+        }
+        long current = THREADS.getCurrentThreadAllocatedBytes();
+        Map<Long, Long> after = includeClientThreads(context) ? clientThreadBytes() : new HashMap<>();
+        after.put(Thread.currentThread().getId(), current);
+        long bytes = 0;
+        for (Map.Entry<Long, Long> thread : after.entrySet()) {
+            Long bytesBefore = before.get(thread.getKey());
+            if (bytesBefore != null) {
+                bytes += thread.getValue() - bytesBefore;
+            }
+        }
+        context.publishReportEntry(REPORT_KEY, String.valueOf(bytes));
+    }
+
+    private static boolean includeClientThreads(ExtensionContext context) {
+        return !context.getConfigurationParameter(PARALLEL_ENABLED, Boolean::parseBoolean).orElse(false);
+    }
+
+    /** @return bytes allocated so far by each executor thread of the shared client */
+    private static Map<Long, Long> clientThreadBytes() {
+        ThreadGroup root = Thread.currentThread().getThreadGroup();
+        while (root.getParent() != null) {
+            root = root.getParent();
+        }
+        Thread[] threads = new Thread[root.activeCount() + 16];
+        int count = root.enumerate(threads, true);
+        Map<Long, Long> allocated = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            if (threads[i].getName().startsWith(SharedHttpClient.THREAD_PREFIX)) {
+                long bytes = THREADS.getThreadAllocatedBytes(threads[i].getId());
+                if (bytes >= 0) {
+                    allocated.put(threads[i].getId(), bytes);
+                }
+            }
+        }
+        return allocated;
+    }
+
+    /** @return the HotSpot thread bean, null when the JVM cannot measure allocations */
+    private static com.sun.management.ThreadMXBean threadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+            return threads;
+        }
+        return null;
+    }
+}
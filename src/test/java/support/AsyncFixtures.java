@@ -0,0 +1,112 @@
+package support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * Creates the instances a test needs with HttpClient.sendAsync.
+ * Independent creates are sent at the same time and joined with awaitAll(),
+ * so set up takes as long as the slowest request instead of the sum of all of them.
+ * Every instance created is recorded in the test's CleanupLedger.
+ */
+public class AsyncFixtures {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client;
+    private final String baseUrl;
+    private final CleanupLedger ledger;
+
+    public AsyncFixtures(HttpClient client, String baseUrl, CleanupLedger ledger) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.ledger = ledger;
+    }
+
+    /**
+     * Creates an instance via POST without waiting for the response
+     * @param path: collection to create the instance in (e.g. /todos)
+     * @param json: message body
+     * @return id of the new instance once the server answered 201 Created
+     */
+    public CompletableFuture<String> create(String path, String json) {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + path))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    String id = idOfCreated(path, response);
+                    ledger.track(path, id);
+                    return id;
+                });
+    }
+
+    /**
+     * Creates an instance via POST without waiting for the response
+     * @param path: collection to create the instance in (e.g. /todos)
+     * @param fields: fields and their values
+     * @return id of the new instance once the server answered 201 Created
+     */
+    public CompletableFuture<String> create(String path, Map<String, Object> fields) {
+        try {
+            return create(path, objectMapper.writeValueAsString(fields));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Waits for every future and rethrows the first failure
+     * @param futures: requests in flight
+     */
+    public static void awaitAll(CompletableFuture<?>... futures) throws IOException, InterruptedException {
+        try {
+            CompletableFuture.allOf(futures).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Waits for a single create
+     * @param future: create in flight
+     * @return id of the new instance
+     */
+    public static String await(CompletableFuture<String> future) throws IOException, InterruptedException {
+        awaitAll(future);
+        return future.join();
+    }
+
+    private static String idOfCreated(String path, HttpResponse<String> response) {
+        if (response.statusCode() != 201) {
+            throw new AssertionFailedError("POST " + path + " did not create an instance: " + response.body(),
+                    201, response.statusCode());
+        }
+        try {
+            return objectMapper.readTree(response.body()).get("id").asText();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
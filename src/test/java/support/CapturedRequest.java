@@ -0,0 +1,16 @@
+package support;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One request sent through the shared HttpClient, as captured by TrafficCapture
+ * @param timestamp: time the request was sent (ISO-8601 instant)
+ * @param method: method of the request
+ * @param path: path and query of the request
+ * @param headers: headers set by the sender (the HttpClient adds Host and Content-Length itself)
+ * @param body: body of the request, empty when there is none
+ */
+public record CapturedRequest(String timestamp, String method, String path,
+        Map<String, List<String>> headers, String body) {
+}
@@ -0,0 +1,77 @@
+package support;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Records every instance a test created and deletes all of them in one concurrent batch.
+ * Each test owns its own ledger, so a test never deletes data created by another test.
+ */
+public class CleanupLedger {
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Set<String> resources = new LinkedHashSet<>();
+
+    public CleanupLedger(HttpClient client, String baseUrl) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Records an instance to delete once the test is over
+     * @param collection: collection the instance belongs to (e.g. /todos)
+     * @param id: id of the instance, ignored when null or empty
+     */
+    public synchronized void track(String collection, String id) {
+        if (id != null && !id.isEmpty()) {
+            resources.add(collection + "/" + id.trim());
+        }
+    }
+
+    /** @return number of instances waiting to be deleted */
+    public synchronized int size() {
+        return resources.size();
+    }
+
+    /**
+     * Sends a DELETE for every recorded instance at the same time and waits for all of them
+     * Instances the test already deleted (404 Not Found) are not reported as failures
+     * @return time taken by the whole batch
+     */
+    public Duration deleteAll() {
+        List<String> toDelete;
+        synchronized (this) {
+            toDelete = new ArrayList<>(resources);
+            resources.clear();
+        }
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> deletes = new ArrayList<>();
+        for (String resource : toDelete) {
+            HttpRequest deleteRequest = HttpRequest.newBuilder()
+                    .uri(URI.create(baseUrl + resource))
+                    .DELETE()
+                    .build();
+            deletes.add(client.sendAsync(deleteRequest, HttpResponse.BodyHandlers.discarding())
+                    .handle((deleteResponse, error) -> {
+                        if (error != null) {
+                            System.err.println("Failed to clean up " + resource + ": " + error.getMessage());
+                        } else if (deleteResponse.statusCode() != 200 && deleteResponse.statusCode() != 204
+                                && deleteResponse.statusCode() != 404) {
+                            System.err.println("Failed to clean up " + resource + ". Status: " + deleteResponse.statusCode());
+                        }
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(deletes.toArray(new CompletableFuture[0])).join();
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,116 @@
+package support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local TCP relay that forwards bytes to the server unchanged and counts every accepted connection.
+ * Used by SharedHttpClient to report how many TCP handshakes a run costs.
+ */
+final class ConnectionCountingRelay {
+
+    /** Wait after a failed accept (e.g. too many open files) before the next one, instead of spinning */
+    private static final long ACCEPT_BACKOFF_MILLIS = 100;
+
+    private final ServerSocket serverSocket;
+    private final String targetHost;
+    private final int targetPort;
+    private final AtomicLong accepted = new AtomicLong();
+    private final ExecutorService pumps = Executors.newCachedThreadPool(SharedHttpClient.daemonThreads("connection-relay-"));
+
+    private ConnectionCountingRelay(ServerSocket serverSocket, String targetHost, int targetPort) {
+        this.serverSocket = serverSocket;
+        this.targetHost = targetHost;
+        this.targetPort = targetPort;
+    }
+
+    /**
+     * Start a relay on a free local port
+     * @param targetHost: host of the server
+     * @param targetPort: port of the server
+     * @return the running relay
+     */
+    static ConnectionCountingRelay start(String targetHost, int targetPort) {
+        try {
+            ServerSocket serverSocket = new ServerSocket(0, 128, InetAddress.getLoopbackAddress());
+            ConnectionCountingRelay relay = new ConnectionCountingRelay(serverSocket, targetHost, targetPort);
+            relay.pumps.execute(relay::acceptLoop);
+            return relay;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start connection counting relay", e);
+        }
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    long acceptedConnections() {
+        return accepted.get();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            Socket client;
+            try {
+                client = serverSocket.accept();
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) {
+                    break;
+                }
+                System.err.println("Connection counting relay could not accept a connection: " + e.getMessage());
+                try {
+                    TimeUnit.MILLISECONDS.sleep(ACCEPT_BACKOFF_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                continue;
+            }
+            accepted.incrementAndGet();
+            try {
+                Socket server = new Socket(targetHost, targetPort);
+                client.setTcpNoDelay(true);
+                server.setTcpNoDelay(true);
+                pumps.execute(() -> pump(client, server));
+                pumps.execute(() -> pump(server, client));
+            } catch (IOException e) {
+                // Connection refused by the server: close the client side so the request fails instead of timing out
+                closeQuietly(client);
+            }
+        }
+    }
+
+    private static void pump(Socket from, Socket to) {
+        try (InputStream in = from.getInputStream(); OutputStream out = to.getOutputStream()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                out.flush();
+            }
+        } catch (IOException e) {
+            // One side closed the connection
+        } finally {
+            closeQuietly(from);
+            closeQuietly(to);
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+}
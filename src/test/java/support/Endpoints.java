@@ -0,0 +1,45 @@
+package support;
+
+import java.net.http.HttpRequest;
+
+/**
+ * Names requests by endpoint so timings of /todos/1 and /todos/42 are grouped together.
+ */
+public final class Endpoints {
+
+    private Endpoints() {
+    }
+
+    /** @return method and path template of the request, e.g. GET /projects/:id/tasks */
+    public static String of(HttpRequest request) {
+        return request.method() + " " + template(request.uri().getPath());
+    }
+
+    /**
+     * Replaces the instance ids of a path by :id
+     * @param path: path of a request, e.g. /todos/12/categories/3
+     * @return path template, e.g. /todos/:id/categories/:id
+     */
+    public static String template(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        StringBuilder template = new StringBuilder(path.length());
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            template.append('/').append(isId(segment) ? ":id" : segment);
+        }
+        return template.length() == 0 ? "/" : template.toString();
+    }
+
+    private static boolean isId(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            if (!Character.isDigit(segment.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
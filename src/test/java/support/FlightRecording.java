@@ -0,0 +1,67 @@
+package support;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Java Flight Recorder recording of the in-process Todo Manager, from its start to the end of the run.
+ *
+ * Configuration (system properties):
+ *  - thingifier.jfr: record the run (profile settings, lock events from 1 ms)
+ *  - thingifier.jfr.dir: directory receiving thingifier.jfr and thingifier-jfr-summary.txt,
+ *    with -Pforks each fork writes its own, e.g. thingifier-fork-2.jfr and thingifier-jfr-summary-fork-2.txt
+ *
+ * The server shares the test JVM, so the recording also holds the events of the tests:
+ * the summary (JfrSummary) only keeps the frames of the Thingifier packages.
+ */
+final class FlightRecording implements AutoCloseable {
+
+    private static final Duration LOCK_THRESHOLD = Duration.ofMillis(1);
+
+    private final Recording recording;
+    private final Path directory = Paths.get(System.getProperty("thingifier.jfr.dir", "target"));
+
+    private FlightRecording(Recording recording) {
+        this.recording = recording;
+    }
+
+    /** @return true when the run is recorded */
+    static boolean enabled() {
+        return Boolean.getBoolean("thingifier.jfr");
+    }
+
+    static FlightRecording start() {
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration("profile"));
+            recording.setName("thingifier");
+            recording.enable("jdk.JavaMonitorEnter").withThreshold(LOCK_THRESHOLD).withStackTrace();
+            recording.enable("jdk.ThreadPark").withThreshold(LOCK_THRESHOLD).withStackTrace();
+            recording.start();
+            return new FlightRecording(recording);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Could not read the JFR profile settings", e);
+        }
+    }
+
+    /** Stops the recording, writes it with its summary and prints the summary */
+    @Override
+    public void close() throws IOException {
+        recording.stop();
+        Files.createDirectories(directory);
+        String fork = ForkFiles.forked() ? "-" + ForkFiles.fork() : "";
+        Path file = directory.resolve("thingifier" + fork + ".jfr");
+        recording.dump(file);
+        recording.close();
+        String summary = JfrSummary.summarize(file, JfrSummary.THINGIFIER_PACKAGE);
+        Path summaryFile = directory.resolve("thingifier-jfr-summary" + fork + ".txt");
+        Files.writeString(summaryFile, summary);
+        System.out.println("JFR recording of the Todo Manager in " + file + ", summary in " + summaryFile);
+        System.out.print(summary);
+    }
+}
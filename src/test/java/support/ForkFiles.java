@@ -0,0 +1,76 @@
+package support;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Output files of the surefire forks (-Pforks, which sets http.timings.fork and http.timings.run).
+ *
+ * Forks run at the same time, so each fork writes its own file under <file>-forks/<run>/ and, when it finishes,
+ * merges the files of the forks that finished so far into the file, as RequestTimings.writeFork does for the timings.
+ */
+final class ForkFiles {
+
+    private static final String FORK = System.getProperty("http.timings.fork", "");
+    private static final String RUN = System.getProperty("http.timings.run", "run");
+
+    private ForkFiles() {
+    }
+
+    /** @return true when the tests run in several surefire forks */
+    static boolean forked() {
+        return !FORK.isEmpty();
+    }
+
+    /** @return name of this fork, e.g. fork-2, empty when the tests are not forked */
+    static String fork() {
+        return FORK;
+    }
+
+    /** @return file written by this fork, the file itself when the tests are not forked */
+    static Path of(Path file) {
+        if (!forked()) {
+            return file;
+        }
+        String name = file.getFileName().toString();
+        return file.resolveSibling(name + "-forks").resolve(RUN).resolve(FORK + "-" + name);
+    }
+
+    /**
+     * Writes the lines of every fork of the run that finished so far to the file
+     * @param sortKey: key the merged lines are sorted by, null to keep the lines of each fork together
+     * @return number of lines of all forks so far
+     */
+    static <K extends Comparable<K>> long mergeLines(Path file, Function<String, K> sortKey) throws IOException {
+        Path forks = of(file).getParent();
+        Files.createDirectories(forks);
+        // Forks finish at about the same time: the last one to get the lock writes the complete file
+        try (FileChannel channel = FileChannel.open(forks.resolve(".lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                FileLock lock = channel.lock()) {
+            List<String> lines = new ArrayList<>();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(forks, "*-" + file.getFileName())) {
+                for (Path forkFile : files) {
+                    Files.readAllLines(forkFile, StandardCharsets.UTF_8).stream().filter(line -> !line.isBlank()).forEach(lines::add);
+                }
+            }
+            if (sortKey != null) {
+                Map<String, K> keys = new HashMap<>();
+                lines.sort(Comparator.comparing(line -> keys.computeIfAbsent(line, sortKey)));
+            }
+            Files.write(file, lines, StandardCharsets.UTF_8);
+            return lines.size();
+        }
+    }
+}
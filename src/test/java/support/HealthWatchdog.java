@@ -0,0 +1,110 @@
+package support;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Checks in the background that the Todo Manager keeps answering while the suite runs.
+ *
+ * Once GET /gui failed or took longer than the timeout several times in a row, the server is considered dead
+ * or stalled and every test class and test that has not started yet fails at once, instead of each one waiting
+ * for its requests to time out. A request already sent when the server stops answering still waits for its
+ * own timeout (http.client.requestTimeoutMs).
+ *
+ * Configuration (system properties):
+ *  - thingifier.watchdog: false to disable the watchdog
+ *  - thingifier.watchdog.intervalMs: time between two checks
+ *  - thingifier.watchdog.timeoutMs: time GET /gui has to answer
+ *  - thingifier.watchdog.failures: failed checks in a row before the server is considered down
+ */
+public class HealthWatchdog implements BeforeAllCallback, BeforeEachCallback {
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("thingifier.watchdog", "true"));
+    private static final Duration INTERVAL = Duration.ofMillis(Long.getLong("thingifier.watchdog.intervalMs", 1000));
+    private static final Duration TIMEOUT = Duration.ofMillis(Long.getLong("thingifier.watchdog.timeoutMs", 5000));
+    private static final int FAILURES = Integer.getInteger("thingifier.watchdog.failures", 3);
+
+    private static ScheduledExecutorService scheduler;
+    private static volatile String failure;
+
+    /**
+     * Starts checking the server, later calls do nothing
+     * @param baseUrl: url of the server
+     */
+    public static synchronized void watch(String baseUrl) {
+        if (!ENABLED || scheduler != null) {
+            return;
+        }
+        // Own client so the checks stay out of the timings, captures and recordings of the shared client
+        HttpClient client = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/gui")).timeout(TIMEOUT).GET().build();
+        scheduler = Executors.newSingleThreadScheduledExecutor(SharedHttpClient.daemonThreads("health-watchdog-"));
+        int[] failedInARow = {0};
+        scheduler.scheduleWithFixedDelay(() -> {
+            String problem = check(client, request);
+            if (problem == null) {
+                failedInARow[0] = 0;
+                return;
+            }
+            if (++failedInARow[0] >= FAILURES) {
+                failure = problem + " (" + failedInARow[0] + " checks in a row)";
+                System.err.println("Health watchdog: the Todo Manager at " + baseUrl + " is down, " + failure);
+                scheduler.shutdown();
+            }
+        }, INTERVAL.toMillis(), INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /** Stops checking, e.g. before the server is stopped at the end of the run */
+    public static synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /** @return why the check failed, null when the server answered 200 in time */
+    private static String check(HttpClient client, HttpRequest request) {
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status == 200 ? null : "GET /gui answered " + status;
+        } catch (IOException e) {
+            return "GET /gui failed: " + e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Marks the server as down without waiting for the checks, e.g. when it never became ready
+     * @param problem: why the server is considered down
+     */
+    public static void markDown(String problem) {
+        failure = problem;
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        abortIfDown();
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        abortIfDown();
+    }
+
+    private static void abortIfDown() {
+        if (failure != null) {
+            throw new IllegalStateException("Todo Manager is down, test aborted: " + failure);
+        }
+    }
+}
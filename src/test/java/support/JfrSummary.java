@@ -0,0 +1,146 @@
+package support;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Text summary of a Java Flight Recorder file, restricted to the frames of one package:
+ * top CPU sampled methods, top allocation sites and lock contention.
+ *
+ * Every event is charged to its innermost frame of the package, so time spent in the JDK or in Jetty
+ * on behalf of a Thingifier method is charged to that method.
+ *
+ * Also runs on the recording of a server started on its own with -XX:StartFlightRecording:
+ * java -cp target/test-classes support.JfrSummary recording.jfr [package]
+ */
+public final class JfrSummary {
+
+    public static final String THINGIFIER_PACKAGE = "uk.co.compendiumdev.thingifier";
+    private static final int TOP = 15;
+    private static final Pattern LAMBDA_SUFFIX = Pattern.compile("\\$\\$Lambda.*");
+
+    private final String packagePrefix;
+    private final Map<String, Long> cpuSamples = new HashMap<>();
+    private final Map<String, Long> allocatedBytes = new HashMap<>();
+    private final Map<String, Long> lockCounts = new HashMap<>();
+    private final Map<String, Long> lockNanos = new HashMap<>();
+    private long totalCpuSamples;
+
+    private JfrSummary(String packagePrefix) {
+        this.packagePrefix = packagePrefix;
+    }
+
+    /**
+     * @param recording: JFR file
+     * @param packagePrefix: only frames of classes in this package are reported
+     * @return summary of the recording
+     */
+    public static String summarize(Path recording, String packagePrefix) throws IOException {
+        JfrSummary summary = new JfrSummary(packagePrefix);
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                summary.add(file.readEvent());
+            }
+        }
+        return summary.format();
+    }
+
+    private void add(RecordedEvent event) {
+        String type = event.getEventType().getName();
+        switch (type) {
+            case "jdk.ExecutionSample":
+                totalCpuSamples++;
+                site(event.getStackTrace()).ifPresent(site -> cpuSamples.merge(site, 1L, Long::sum));
+                break;
+            case "jdk.ObjectAllocationSample":
+                site(event.getStackTrace()).ifPresent(site -> allocatedBytes.merge(
+                        site + " -> " + className(event.getClass("objectClass")), event.getLong("weight"), Long::sum));
+                break;
+            case "jdk.JavaMonitorEnter":
+                lock(event, "monitor", event.getClass("monitorClass"));
+                break;
+            case "jdk.ThreadPark":
+                lock(event, "park", event.getClass("parkedClass"));
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void lock(RecordedEvent event, String kind, RecordedClass lockClass) {
+        site(event.getStackTrace()).ifPresent(site -> {
+            String key = kind + " " + site + " on " + className(lockClass);
+            lockCounts.merge(key, 1L, Long::sum);
+            lockNanos.merge(key, event.getDuration().toNanos(), Long::sum);
+        });
+    }
+
+    /** @return innermost frame of the package, e.g. uk.co...Thing.findInstanceByGUIDorID */
+    private Optional<String> site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return Optional.empty();
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(packagePrefix)) {
+                // Lambda classes get a new name in every JVM: Thing$$Lambda$493+0x00007f00f51d6058.2024711353
+                String type = LAMBDA_SUFFIX.matcher(frame.getMethod().getType().getName()).replaceFirst("\\$\\$Lambda");
+                return Optional.of(type + "." + frame.getMethod().getName());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static String className(RecordedClass recordedClass) {
+        return recordedClass == null ? "?" : recordedClass.getName();
+    }
+
+    private String format() {
+        StringBuilder text = new StringBuilder();
+        long packageSamples = cpuSamples.values().stream().mapToLong(Long::longValue).sum();
+        text.append(String.format("CPU samples: %d in total, %d in %s%n", totalCpuSamples, packageSamples, packagePrefix));
+        for (Map.Entry<String, Long> method : top(cpuSamples)) {
+            text.append(String.format("  %6d %5.1f%%  %s%n", method.getValue(),
+                    100.0 * method.getValue() / Math.max(1, totalCpuSamples), method.getKey()));
+        }
+        text.append(String.format("%nAllocation sites (sampled bytes):%n"));
+        for (Map.Entry<String, Long> site : top(allocatedBytes)) {
+            text.append(String.format("  %10.1f MB  %s%n", site.getValue() / (1024.0 * 1024), site.getKey()));
+        }
+        text.append(String.format("%nLock contention (monitor enter and park events over the threshold):%n"));
+        if (lockNanos.isEmpty()) {
+            text.append("  none").append(System.lineSeparator());
+        }
+        for (Map.Entry<String, Long> lock : top(lockNanos)) {
+            text.append(String.format("  %6d events %10.1f ms  %s%n", lockCounts.get(lock.getKey()),
+                    lock.getValue() / 1e6, lock.getKey()));
+        }
+        return text.toString();
+    }
+
+    private static List<Map.Entry<String, Long>> top(Map<String, Long> values) {
+        return values.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(TOP)
+                .toList();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: JfrSummary <recording.jfr> [package]");
+            System.exit(2);
+        }
+        System.out.print(summarize(Paths.get(args[0]), args.length > 1 ? args[1] : THINGIFIER_PACKAGE));
+    }
+}
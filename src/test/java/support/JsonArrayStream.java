@@ -0,0 +1,137 @@
+package support;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Elements of one array of a JSON response, read one at a time while the body is received.
+ *
+ * GET /todos answers {"todos": [...]}: only the element being looked at is held in memory,
+ * the response body is never buffered as a String or parsed as a whole tree.
+ * e.g. client.send(request, JsonArrayStream.ofArray("todos"))
+ */
+public final class JsonArrayStream implements Iterable<JsonNode>, AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final InputStream body;
+    private final String arrayField;
+    private JsonParser parser;
+    private boolean found;
+    private boolean iterated;
+
+    private JsonArrayStream(InputStream body, String arrayField) {
+        this.body = body;
+        this.arrayField = arrayField;
+    }
+
+    /**
+     * @param arrayField: name of the array of the top level object, e.g. todos
+     * @return body handler streaming the response body into a Jackson parser
+     */
+    public static HttpResponse.BodyHandler<JsonArrayStream> ofArray(String arrayField) {
+        // The parser is only created when iterating so the mapping never blocks the HttpClient
+        return responseInfo -> HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofInputStream(),
+                body -> new JsonArrayStream(body, arrayField));
+    }
+
+    /** @return true if the top level object has the array, reads the body up to the start of the array */
+    public boolean hasArray() {
+        if (parser == null) {
+            try {
+                parser = MAPPER.getFactory().createParser(body);
+                found = moveToArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read the " + arrayField + " array", e);
+            }
+        }
+        return found;
+    }
+
+    private boolean moveToArray() throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (field.equals(arrayField)) {
+                return value == JsonToken.START_ARRAY;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    /**
+     * Can only be iterated once, the elements are not kept
+     * @return the elements of the array in the order they are received
+     */
+    @Override
+    public Iterator<JsonNode> iterator() {
+        if (iterated) {
+            throw new IllegalStateException("The " + arrayField + " array was already read");
+        }
+        iterated = true;
+        if (!hasArray()) {
+            throw new NoSuchElementException("The response has no " + arrayField + " array");
+        }
+        return new Iterator<>() {
+
+            private JsonToken next = nextToken();
+
+            @Override
+            public boolean hasNext() {
+                return next != JsonToken.END_ARRAY;
+            }
+
+            @Override
+            public JsonNode next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    JsonNode element = MAPPER.readTree(parser);
+                    next = nextToken();
+                    return element;
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not read an element of the " + arrayField + " array", e);
+                }
+            }
+        };
+    }
+
+    private JsonToken nextToken() {
+        try {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                throw new IllegalStateException("The " + arrayField + " array is not terminated");
+            }
+            return token;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the " + arrayField + " array", e);
+        }
+    }
+
+    /** Discards the rest of the body without keeping it, so the connection can be reused */
+    @Override
+    public void close() throws IOException {
+        try {
+            body.transferTo(OutputStream.nullOutputStream());
+        } finally {
+            if (parser != null) {
+                parser.close();
+            }
+            body.close();
+        }
+    }
+}
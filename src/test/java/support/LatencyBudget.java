@@ -0,0 +1,44 @@
+package support;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Response time budget of an endpoint called by a test.
+ *
+ * Every call the test makes through SharedHttpClient is timed. On a @RepeatedTest the percentile
+ * is computed over the calls of all repetitions and checked after the last one.
+ * e.g. @LatencyBudget(endpoint = "GET /todos", millis = 20, percentile = 95)
+ *
+ * -Dlatency.budget.mode=warn reports exceeded budgets without failing, off disables the checks.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(LatencyBudget.List.class)
+@ExtendWith(LatencyBudgetExtension.class)
+public @interface LatencyBudget {
+
+    /** Method and path template of the endpoint (see Endpoints), e.g. GET /projects/:id/tasks */
+    String endpoint();
+
+    /** Maximum response time at the percentile, in milliseconds */
+    double millis();
+
+    /** Percentile of the calls that must be within the budget */
+    double percentile() default 95;
+
+    /** Only report the exceeded budget instead of failing the test */
+    boolean warnOnly() default false;
+
+    /** Several budgets on the same test */
+    @Target(ElementType.METHOD)
+    @Retention(RetentionPolicy.RUNTIME)
+    @ExtendWith(LatencyBudgetExtension.class)
+    @interface List {
+        LatencyBudget[] value();
+    }
+}
@@ -0,0 +1,127 @@
+package support;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * Times the calls of tests annotated with @LatencyBudget and fails the test when an endpoint is over budget.
+ * Only the test method is timed, calls made by @BeforeEach and @AfterEach methods are not.
+ * When tests run in parallel the server is shared by other tests, so exceeded budgets are only reported.
+ */
+public class LatencyBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    static final String REPORT_KEY = "latency-budget";
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(LatencyBudgetExtension.class);
+    private static final String MODE = System.getProperty("latency.budget.mode", "fail");
+    private static final String PARALLEL_ENABLED = "junit.jupiter.execution.parallel.enabled";
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        List<LatencyBudget> budgets = budgetsOf(context);
+        if (budgets.isEmpty()) {
+            return;
+        }
+        Samples samples = samplesOf(context);
+        SharedHttpClient.get().listen((request, statusCode, nanos) -> samples.add(Endpoints.of(request), nanos));
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        List<LatencyBudget> budgets = budgetsOf(context);
+        if (budgets.isEmpty()) {
+            return;
+        }
+        SharedHttpClient.get().stopListening();
+        Samples samples = samplesOf(context);
+        if (samples.invocations.incrementAndGet() < expectedInvocations(context.getRequiredTestMethod())) {
+            return;
+        }
+        if (context.getExecutionException().isPresent()) {
+            // The test already failed, a budget failure would hide the cause
+            return;
+        }
+
+        boolean parallel = context.getConfigurationParameter(PARALLEL_ENABLED, Boolean::parseBoolean).orElse(false);
+        List<String> exceeded = new ArrayList<>();
+        List<String> warnings = new ArrayList<>();
+        for (LatencyBudget budget : budgets) {
+            String result = check(budget, samples.byEndpoint.get(budget.endpoint()));
+            if (result != null) {
+                (budget.warnOnly() || parallel || MODE.equals("warn") ? warnings : exceeded).add(result);
+            }
+        }
+        for (String warning : warnings) {
+            context.publishReportEntry(REPORT_KEY, warning);
+        }
+        if (!exceeded.isEmpty()) {
+            throw new AssertionFailedError("Latency budget exceeded: " + String.join("; ", exceeded));
+        }
+    }
+
+    /**
+     * @param budget: budget of one endpoint
+     * @param nanos: durations of the calls to the endpoint, null if it was never called
+     * @return description of the exceeded budget, null when the calls are within budget
+     */
+    private static String check(LatencyBudget budget, Queue<Long> nanos) {
+        if (nanos == null || nanos.isEmpty()) {
+            return budget.endpoint() + " was never called";
+        }
+        long[] sorted = nanos.stream().mapToLong(Long::longValue).sorted().toArray();
+        // Nearest rank percentile
+        int rank = (int) Math.ceil(budget.percentile() / 100 * sorted.length);
+        double millis = sorted[Math.max(0, rank - 1)] / 1e6;
+        if (millis <= budget.millis()) {
+            return null;
+        }
+        return String.format("%s p%s was %.2f ms over %d calls, budget %s ms", budget.endpoint(),
+                format(budget.percentile()), millis, sorted.length, format(budget.millis()));
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.valueOf(value);
+    }
+
+    private static List<LatencyBudget> budgetsOf(ExtensionContext context) {
+        if (MODE.equals("off")) {
+            return List.of();
+        }
+        return context.getTestMethod()
+                .map(method -> AnnotationSupport.findRepeatableAnnotations(method, LatencyBudget.class))
+                .orElse(List.of());
+    }
+
+    private static int expectedInvocations(Method method) {
+        return AnnotationSupport.findAnnotation(method, RepeatedTest.class).map(RepeatedTest::value).orElse(1);
+    }
+
+    /** Samples are kept by the parent context so the repetitions of a @RepeatedTest share them */
+    private static Samples samplesOf(ExtensionContext context) {
+        ExtensionContext parent = context.getParent().orElse(context);
+        return parent.getStore(NAMESPACE).getOrComputeIfAbsent(context.getRequiredTestMethod(),
+                key -> new Samples(), Samples.class);
+    }
+
+    /** Durations of the calls made by one test method, by endpoint */
+    static final class Samples {
+
+        final Map<String, Queue<Long>> byEndpoint = new ConcurrentHashMap<>();
+        final AtomicInteger invocations = new AtomicInteger();
+
+        void add(String endpoint, long nanos) {
+            byEndpoint.computeIfAbsent(endpoint, key -> new ConcurrentLinkedQueue<>()).add(nanos);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * Record and replay of the Todo Manager responses.
+ *
+ * Configuration (system properties):
+ *  - thingifier.mode: live (default), record to save every exchange of the run, replay to answer the
+ *    tests from the saved exchanges with StubServer instead of starting the Todo Manager
+ *  - thingifier.recording: file of the saved exchanges, one JSON object per line
+ *
+ * Exchanges are saved with the test that sent them, so a test replays its own responses
+ * (and the ids it was given) whatever the order the tests run in. With -Pforks every fork records to its own file,
+ * merged into the recording when the fork finishes (see ForkFiles).
+ */
+public final class RecordReplay {
+
+    public enum Mode { LIVE, RECORD, REPLAY }
+
+    /** Header telling StubServer which test sent a replayed request */
+    static final String TEST_HEADER = "X-Recorded-Test";
+
+    private static final Mode MODE = Mode.valueOf(System.getProperty("thingifier.mode", "live").toUpperCase());
+    private static final Path FILE = Paths.get(System.getProperty("thingifier.recording", "recordings/todo-manager.jsonl"));
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ThreadLocal<String> TEST = new ThreadLocal<>();
+
+    private static BufferedWriter writer;
+
+    private RecordReplay() {
+    }
+
+    public static Mode mode() {
+        return MODE;
+    }
+
+    public static Path file() {
+        return FILE;
+    }
+
+    /** @param test: unique id of the test running on the current thread, null once it is over */
+    static void setCurrentTest(String test) {
+        if (test == null) {
+            TEST.remove();
+        } else {
+            TEST.set(test);
+        }
+    }
+
+    /** @return unique id of the test running on the current thread, null outside of a test */
+    static String currentTest() {
+        return TEST.get();
+    }
+
+    /** Appends an exchange to the recording, the file is emptied by the first exchange of the run */
+    static synchronized void record(RecordedExchange exchange) {
+        Path file = ForkFiles.of(FILE);
+        try {
+            if (writer == null) {
+                if (file.toAbsolutePath().getParent() != null) {
+                    Files.createDirectories(file.toAbsolutePath().getParent());
+                }
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            }
+            writer.write(MAPPER.writeValueAsString(exchange));
+            writer.newLine();
+            // Flushed every time, nothing tells the recorder when the last test is over
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not record to " + file, e);
+        }
+    }
+
+    /** Closes the recording once the last test is over, a fork adds its exchanges to those of the forks that finished before */
+    static synchronized void finish() throws IOException {
+        if (writer == null) {
+            return;
+        }
+        writer.close();
+        writer = null;
+        if (ForkFiles.forked()) {
+            long exchanges = ForkFiles.mergeLines(FILE, null);
+            System.out.printf("Recorded %d exchanges in all forks so far to %s%n", exchanges, FILE);
+        }
+    }
+
+    /** @return the exchanges of the recording in the order they were recorded */
+    static List<RecordedExchange> load() throws IOException {
+        if (!Files.exists(FILE)) {
+            throw new IllegalStateException("No recording at " + FILE.toAbsolutePath() + ", run mvn test -Dthingifier.mode=record first");
+        }
+        List<RecordedExchange> exchanges = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(FILE, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    exchanges.add(MAPPER.readValue(line, RecordedExchange.class));
+                }
+            }
+        }
+        return exchanges;
+    }
+
+    /** @return path and query of the request, as matched by StubServer */
+    static String pathOf(URI uri) {
+        return uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + "?" + uri.getRawQuery();
+    }
+
+    /** @return body of the request, read from its publisher (test requests use in-memory publishers) */
+    static String bodyOf(HttpRequest request) {
+        if (request.bodyPublisher().isEmpty() || request.bodyPublisher().get().contentLength() == 0) {
+            return "";
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        CompletableFuture<String> done = new CompletableFuture<>();
+        request.bodyPublisher().get().subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                byte[] bytes = new byte[item.remaining()];
+                item.get(bytes);
+                body.write(bytes, 0, bytes.length);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(body.toString(StandardCharsets.UTF_8));
+            }
+        });
+        return done.join();
+    }
+}
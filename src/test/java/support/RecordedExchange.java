@@ -0,0 +1,18 @@
+package support;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One request sent by a test and the response of the real server, as stored by RecordReplay
+ * @param test: unique id of the test (or test class) that sent the request, null outside of a test
+ * @param method: method of the request
+ * @param path: path and query of the request
+ * @param requestBody: body of the request, empty when there is none
+ * @param status: status of the response
+ * @param headers: headers of the response
+ * @param responseBody: body of the response
+ */
+public record RecordedExchange(String test, String method, String path, String requestBody,
+        int status, Map<String, List<String>> headers, String responseBody) {
+}
@@ -0,0 +1,170 @@
+package support;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of every call sent through SharedHttpClient, by method, path template and status.
+ * Recording only updates LongAdders so concurrent tests never wait on each other.
+ */
+public final class RequestTimings {
+
+    private static final String[] COLUMNS = {"method", "path", "status", "count", "totalMs", "meanMs", "maxMs",
+            "requestBytes", "responseBytes"};
+
+    private final Map<Key, Counters> counters = new ConcurrentHashMap<>();
+
+    /** Method, path template (e.g. /projects/:id/tasks) and status of a call, -1 when no response was received */
+    record Key(String method, String path, int status) {
+    }
+
+    static final class Counters {
+
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+        final LongAdder requestBytes = new LongAdder();
+        final LongAdder responseBytes = new LongAdder();
+    }
+
+    /**
+     * @param method: method of the request
+     * @param path: path of the request, ids are replaced by :id
+     * @param status: status of the response, -1 when the call failed
+     * @param nanos: time from sending the request to receiving the whole body
+     * @param requestBytes: size of the request body
+     * @param responseBytes: size of the response body
+     */
+    void record(String method, String path, int status, long nanos, long requestBytes, long responseBytes) {
+        Counters endpoint = counters.computeIfAbsent(new Key(method, Endpoints.template(path), status), key -> new Counters());
+        endpoint.count.increment();
+        endpoint.totalNanos.add(nanos);
+        endpoint.maxNanos.accumulate(nanos);
+        endpoint.requestBytes.add(requestBytes);
+        endpoint.responseBytes.add(responseBytes);
+    }
+
+    /** @return number of calls recorded */
+    public long count() {
+        return counters.values().stream().mapToLong(c -> c.count.sum()).sum();
+    }
+
+    /** @return one row per endpoint and status, slowest total time first */
+    public List<Map<String, Object>> rows() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        counters.forEach((key, endpoint) -> {
+            long count = endpoint.count.sum();
+            double totalMillis = endpoint.totalNanos.sum() / 1e6;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("method", key.method());
+            row.put("path", key.path());
+            row.put("status", key.status());
+            row.put("count", count);
+            row.put("totalMs", round(totalMillis));
+            row.put("meanMs", round(count == 0 ? 0 : totalMillis / count));
+            row.put("maxMs", round(endpoint.maxNanos.get() / 1e6));
+            row.put("requestBytes", endpoint.requestBytes.sum());
+            row.put("responseBytes", endpoint.responseBytes.sum());
+            rows.add(row);
+        });
+        rows.sort(Comparator.comparingDouble((Map<String, Object> row) -> (Double) row.get("totalMs")).reversed());
+        return rows;
+    }
+
+    /**
+     * Writes the summary as JSON and CSV
+     * @param directory: directory receiving http-timings.json and http-timings.csv
+     */
+    public void write(Path directory) throws IOException {
+        write(directory, rows());
+    }
+
+    /**
+     * Writes the rows of this fork next to the rows of the other surefire forks of the same run,
+     * then writes the summary of all of them as JSON and CSV
+     * @param directory: directory receiving http-timings.json and http-timings.csv
+     * @param run: id shared by the forks of a run, so forks of earlier runs are left out
+     * @param fork: name of this fork, e.g. fork-2
+     * @return number of calls recorded by all forks so far
+     */
+    public long writeFork(Path directory, String run, String fork) throws IOException {
+        Path forks = directory.resolve("http-timings-forks").resolve(run);
+        Files.createDirectories(forks);
+        ObjectMapper mapper = new ObjectMapper();
+        // Forks finish at about the same time: the last one to get the lock writes the complete summary
+        try (FileChannel channel = FileChannel.open(forks.resolve(".lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                FileLock lock = channel.lock()) {
+            mapper.writeValue(forks.resolve(fork + ".json").toFile(), rows());
+            List<Map<String, Object>> rows = new ArrayList<>();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(forks, "*.json")) {
+                for (Path file : files) {
+                    rows.addAll(mapper.readValue(file.toFile(), new TypeReference<List<Map<String, Object>>>() { }));
+                }
+            }
+            List<Map<String, Object>> merged = merge(rows);
+            write(directory, merged);
+            return merged.stream().mapToLong(row -> ((Number) row.get("count")).longValue()).sum();
+        }
+    }
+
+    /** @return one row per endpoint and status, adding up the counts, times and bytes of the rows of every fork */
+    static List<Map<String, Object>> merge(List<Map<String, Object>> forkRows) {
+        Map<Key, Map<String, Object>> merged = new LinkedHashMap<>();
+        for (Map<String, Object> row : forkRows) {
+            Key key = new Key((String) row.get("method"), (String) row.get("path"), ((Number) row.get("status")).intValue());
+            Map<String, Object> total = merged.get(key);
+            if (total == null) {
+                merged.put(key, new LinkedHashMap<>(row));
+                continue;
+            }
+            for (String column : List.of("count", "requestBytes", "responseBytes")) {
+                total.put(column, ((Number) total.get(column)).longValue() + ((Number) row.get(column)).longValue());
+            }
+            total.put("totalMs", round(((Number) total.get("totalMs")).doubleValue() + ((Number) row.get("totalMs")).doubleValue()));
+            total.put("maxMs", Math.max(((Number) total.get("maxMs")).doubleValue(), ((Number) row.get("maxMs")).doubleValue()));
+        }
+        List<Map<String, Object>> rows = new ArrayList<>(merged.values());
+        for (Map<String, Object> row : rows) {
+            long count = ((Number) row.get("count")).longValue();
+            double totalMillis = ((Number) row.get("totalMs")).doubleValue();
+            row.put("meanMs", round(count == 0 ? 0 : totalMillis / count));
+        }
+        rows.sort(Comparator.comparingDouble((Map<String, Object> row) -> ((Number) row.get("totalMs")).doubleValue()).reversed());
+        return rows;
+    }
+
+    private static void write(Path directory, List<Map<String, Object>> rows) throws IOException {
+        Files.createDirectories(directory);
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(directory.resolve("http-timings.json").toFile(), rows);
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(directory.resolve("http-timings.csv")))) {
+            csv.println(String.join(",", COLUMNS));
+            for (Map<String, Object> row : rows) {
+                List<String> values = new ArrayList<>();
+                for (String column : COLUMNS) {
+                    values.add(String.valueOf(row.get(column)));
+                }
+                csv.println(String.join(",", values));
+            }
+        }
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,441 @@
+package support;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+
+/**
+ * Single HttpClient shared by every test class.
+ *
+ * Configuration (system properties):
+ *  - http.client.threads: size of the executor used for async work, 0 uses a cached pool like the HttpClient default
+ *  - http.client.virtualThreads: run the async work on virtual threads instead (Java 21, -Pjava21)
+ *  - http.client.connectTimeoutMs: TCP connect timeout
+ *  - http.client.requestTimeoutMs: timeout applied to requests that do not set their own
+ *  - http.client.countConnections: count new vs reused TCP connections and print them at the end of the run.
+ *    Every request then goes through a local relay, an extra hop that adds to the latencies measured by the
+ *    timings and latency budgets. Reused is requests minus new connections, so failed requests count as reused
+ *  - http.timings.dir: directory receiving http-timings.json and http-timings.csv at the end of the run
+ *  - http.capture: file receiving every request sent, see TrafficCapture
+ *
+ * Connections are kept alive and reused between requests (HTTP/1.1, pool settings in pom.xml).
+ */
+public final class SharedHttpClient extends HttpClient {
+
+    /** Name prefix of the executor threads of the shared client, other clients keep the HttpClient- threads */
+    static final String THREAD_PREFIX = "shared-http-client-";
+
+    private static final SharedHttpClient INSTANCE = new SharedHttpClient(true,
+            Integer.getInteger("http.client.threads", 0),
+            Boolean.getBoolean("http.client.virtualThreads"),
+            Duration.ofMillis(Long.getLong("http.client.connectTimeoutMs", 2000)),
+            Duration.ofMillis(Long.getLong("http.client.requestTimeoutMs", 10000)),
+            Boolean.getBoolean("http.client.countConnections"));
+
+    private final HttpClient delegate;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private final Duration requestTimeout;
+    private final boolean countConnections;
+    private final Map<String, ConnectionCountingRelay> relays = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final ThreadLocal<ExchangeListener> listeners = new ThreadLocal<>();
+    private final RequestTimings timings = new RequestTimings();
+
+    /** Receives the outcome of the exchanges started by the thread that registered it */
+    public interface ExchangeListener {
+
+        /**
+         * @param request: request as built by the test
+         * @param statusCode: status of the response, -1 when the exchange failed
+         * @param nanos: time from sending the request to receiving the whole body
+         */
+        void exchangeCompleted(HttpRequest request, int statusCode, long nanos);
+    }
+
+    private SharedHttpClient(boolean shared, int threads, boolean virtualThreads, Duration connectTimeout, Duration requestTimeout,
+            boolean countConnections) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1) // plain keep-alive connections, no h2c upgrade attempt
+                .connectTimeout(connectTimeout);
+        if (virtualThreads) {
+            executor = VirtualThreads.newPerTaskExecutor();
+            builder.executor(executor);
+        } else if (threads > 0) {
+            executor = Executors.newFixedThreadPool(threads, daemonThreads(THREAD_PREFIX));
+            builder.executor(executor);
+        } else if (shared) {
+            // Same pool as the HttpClient default, named so AllocationExtension only counts the shared client
+            executor = Executors.newCachedThreadPool(daemonThreads(THREAD_PREFIX));
+            builder.executor(executor);
+        } else {
+            executor = null;
+        }
+        this.delegate = builder.build();
+        this.virtualThreads = virtualThreads;
+        this.requestTimeout = requestTimeout;
+        this.countConnections = countConnections;
+    }
+
+    /** @return the client shared by all tests */
+    public static SharedHttpClient get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Creates a client with the timeouts of the shared one but its own connections and executor,
+     * e.g. to compare executors under load
+     * @param virtualThreads: run the async work on virtual threads instead of the HttpClient default executor
+     * @return the new client, shutdown() releases its executor
+     */
+    public static SharedHttpClient newClient(boolean virtualThreads) {
+        return new SharedHttpClient(false, 0, virtualThreads, INSTANCE.delegate.connectTimeout().orElseThrow(),
+                INSTANCE.requestTimeout, false);
+    }
+
+    /** @return true when the async work runs on unnamed virtual threads instead of the THREAD_PREFIX threads */
+    boolean virtualThreads() {
+        return virtualThreads;
+    }
+
+    /** Stops the executor created for this client, if any */
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /** @return number of requests sent through the shared client */
+    public long requestCount() {
+        return requests.get();
+    }
+
+    /** @return method, path template, status, bytes and duration of every call sent so far */
+    public RequestTimings timings() {
+        return timings;
+    }
+
+    /** @return number of TCP connections opened, or -1 when connection counting is disabled */
+    public long newConnectionCount() {
+        if (!countConnections) {
+            return -1;
+        }
+        return relays.values().stream().mapToLong(ConnectionCountingRelay::acceptedConnections).sum();
+    }
+
+    /**
+     * @return requests minus new connections, or -1 when counting is disabled.
+     * Failed requests are included, so this is an upper bound of the requests sent on an already open connection
+     */
+    public long reusedConnectionCount() {
+        long opened = newConnectionCount();
+        return opened < 0 ? -1 : Math.max(0, requests.get() - opened);
+    }
+
+    /** @return one line summary of the connections used so far */
+    public String connectionSummary() {
+        return String.format("HTTP connections: %d requests, %d new connections, %d reused",
+                requestCount(), newConnectionCount(), reusedConnectionCount());
+    }
+
+    /**
+     * Notifies the listener of every exchange the current thread starts until stopListening() is called
+     * Async exchanges are reported when they complete, possibly on another thread
+     * @param listener: receives the exchanges
+     */
+    public void listen(ExchangeListener listener) {
+        listeners.set(listener);
+    }
+
+    /** Stops notifying the listener registered by the current thread */
+    public void stopListening() {
+        listeners.remove();
+    }
+
+    /**
+     * Apply the default request timeout, when capturing save the request as built by the test,
+     * when counting route the request through the counting relay and when replaying tell the stand-in
+     * which test sends the request
+     * @param request: request built by a test
+     * @return request to send
+     */
+    private HttpRequest prepare(HttpRequest request) {
+        requests.incrementAndGet();
+        if (TrafficCapture.enabled()) {
+            TrafficCapture.capture(request);
+        }
+        HttpRequest.Builder builder = null;
+        if (request.timeout().isEmpty()) {
+            builder = HttpRequest.newBuilder(request, (name, value) -> true).timeout(requestTimeout);
+        }
+        if (countConnections) {
+            if (builder == null) {
+                builder = HttpRequest.newBuilder(request, (name, value) -> true);
+            }
+            builder.uri(throughRelay(request.uri()));
+        }
+        String test = RecordReplay.currentTest();
+        if (RecordReplay.mode() == RecordReplay.Mode.REPLAY && test != null) {
+            if (builder == null) {
+                builder = HttpRequest.newBuilder(request, (name, value) -> true);
+            }
+            builder.header(RecordReplay.TEST_HEADER, test);
+        }
+        return builder == null ? request : builder.build();
+    }
+
+    private URI throughRelay(URI uri) {
+        ConnectionCountingRelay relay = relays.computeIfAbsent(uri.getHost() + ":" + uri.getPort(),
+                key -> ConnectionCountingRelay.start(uri.getHost(), uri.getPort()));
+        try {
+            return new URI(uri.getScheme(), uri.getUserInfo(), "localhost", relay.port(),
+                    uri.getPath(), uri.getQuery(), uri.getFragment());
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Cannot route " + uri + " through the connection counter", e);
+        }
+    }
+
+    static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Times one call and counts the bytes of its response body.
+     * The call is recorded once the whole body has been received, which can be after send() returned
+     * when the body is streamed to the test (e.g. BodyHandlers.ofInputStream())
+     */
+    private final class TimedExchange {
+
+        private final HttpRequest request;
+        private final ExchangeListener listener;
+        private final long start = System.nanoTime();
+        private final LongAdder responseBytes = new LongAdder();
+        private final AtomicBoolean done = new AtomicBoolean();
+        // Only set when recording
+        private final String test;
+        private final String requestBody;
+        private final ByteArrayOutputStream responseBody;
+        private volatile HttpResponse.ResponseInfo responseInfo;
+
+        TimedExchange(HttpRequest request, ExchangeListener listener) {
+            this.request = request;
+            this.listener = listener;
+            boolean recording = RecordReplay.mode() == RecordReplay.Mode.RECORD;
+            this.test = recording ? RecordReplay.currentTest() : null;
+            this.requestBody = recording ? RecordReplay.bodyOf(request) : null;
+            this.responseBody = recording ? new ByteArrayOutputStream() : null;
+        }
+
+        <T> HttpResponse.BodyHandler<T> counting(HttpResponse.BodyHandler<T> handler) {
+            return responseInfo -> {
+                this.responseInfo = responseInfo;
+                return new CountingBodySubscriber<>(handler.apply(responseInfo), this, responseInfo.statusCode());
+            };
+        }
+
+        void received(ByteBuffer buffer) {
+            responseBytes.add(buffer.remaining());
+            if (responseBody != null) {
+                ByteBuffer copy = buffer.duplicate();
+                synchronized (responseBody) {
+                    while (copy.hasRemaining()) {
+                        responseBody.write(copy.get());
+                    }
+                }
+            }
+        }
+
+        /** @param statusCode: status of the response, -1 when no response was received */
+        void completed(int statusCode) {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            long nanos = System.nanoTime() - start;
+            long requestBytes = request.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength).orElse(0L);
+            timings.record(request.method(), request.uri().getPath(), statusCode, nanos,
+                    Math.max(0, requestBytes), responseBytes.sum());
+            if (listener != null) {
+                listener.exchangeCompleted(request, statusCode, nanos);
+            }
+            if (responseBody != null && responseInfo != null) {
+                String body;
+                synchronized (responseBody) {
+                    body = responseBody.toString(StandardCharsets.UTF_8);
+                }
+                RecordReplay.record(new RecordedExchange(test, request.method(), RecordReplay.pathOf(request.uri()),
+                        requestBody, statusCode, responseInfo.headers().map(), body));
+            }
+        }
+    }
+
+    /** Passes the body on to the subscriber of the test, counts its size and completes the exchange when the body ends */
+    private static final class CountingBodySubscriber<T> implements HttpResponse.BodySubscriber<T> {
+
+        private final HttpResponse.BodySubscriber<T> delegate;
+        private final TimedExchange exchange;
+        private final int statusCode;
+
+        CountingBodySubscriber(HttpResponse.BodySubscriber<T> delegate, TimedExchange exchange, int statusCode) {
+            this.delegate = delegate;
+            this.exchange = exchange;
+            this.statusCode = statusCode;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            // A test that closes a streamed body early cancels the subscription instead of receiving onComplete
+            delegate.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    subscription.request(n);
+                }
+
+                @Override
+                public void cancel() {
+                    exchange.completed(statusCode);
+                    subscription.cancel();
+                }
+            });
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> item) {
+            for (ByteBuffer buffer : item) {
+                exchange.received(buffer);
+            }
+            delegate.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            exchange.completed(statusCode);
+            delegate.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            exchange.completed(statusCode);
+            delegate.onComplete();
+        }
+    }
+
+    // -------------- HttpClient delegation ------------------
+
+    @Override
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler)
+            throws IOException, InterruptedException {
+        TimedExchange exchange = new TimedExchange(request, listeners.get());
+        try {
+            return delegate.send(prepare(request), exchange.counting(responseBodyHandler));
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            exchange.completed(-1);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request,
+            HttpResponse.BodyHandler<T> responseBodyHandler) {
+        TimedExchange exchange = new TimedExchange(request, listeners.get());
+        return delegate.sendAsync(prepare(request), exchange.counting(responseBodyHandler))
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        exchange.completed(-1);
+                    }
+                });
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request,
+            HttpResponse.BodyHandler<T> responseBodyHandler, HttpResponse.PushPromiseHandler<T> pushPromiseHandler) {
+        TimedExchange exchange = new TimedExchange(request, listeners.get());
+        return delegate.sendAsync(prepare(request), exchange.counting(responseBodyHandler), pushPromiseHandler)
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        exchange.completed(-1);
+                    }
+                });
+    }
+
+    @Override
+    public Optional<CookieHandler> cookieHandler() {
+        return delegate.cookieHandler();
+    }
+
+    @Override
+    public Optional<Duration> connectTimeout() {
+        return delegate.connectTimeout();
+    }
+
+    @Override
+    public Redirect followRedirects() {
+        return delegate.followRedirects();
+    }
+
+    @Override
+    public Optional<ProxySelector> proxy() {
+        return delegate.proxy();
+    }
+
+    @Override
+    public SSLContext sslContext() {
+        return delegate.sslContext();
+    }
+
+    @Override
+    public SSLParameters sslParameters() {
+        return delegate.sslParameters();
+    }
+
+    @Override
+    public Optional<Authenticator> authenticator() {
+        return delegate.authenticator();
+    }
+
+    @Override
+    public Version version() {
+        return delegate.version();
+    }
+
+    @Override
+    public Optional<Executor> executor() {
+        return executor == null ? delegate.executor() : Optional.of(executor);
+    }
+}
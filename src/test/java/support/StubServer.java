@@ -0,0 +1,118 @@
+package support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Stand-in for the Todo Manager that answers with the responses saved by RecordReplay, without any business logic.
+ *
+ * A request is matched on the test that sent it, its method, path and body. Identical requests of a test get
+ * the recorded responses in order, the last one being repeated. Requests sent outside of a recorded test fall
+ * back to the responses of any test. Unknown requests get 501 Not Implemented.
+ */
+public final class StubServer implements AutoCloseable {
+
+    // Set by the stand-in itself
+    private static final Set<String> SKIPPED_HEADERS = Set.of("content-length", "transfer-encoding", "date", "connection");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Deque<RecordedExchange>> byTest = new ConcurrentHashMap<>();
+    private final Map<String, Deque<RecordedExchange>> byRequest = new ConcurrentHashMap<>();
+
+    private StubServer(HttpServer server, ExecutorService executor, List<RecordedExchange> exchanges) {
+        this.server = server;
+        this.executor = executor;
+        for (RecordedExchange exchange : exchanges) {
+            String request = requestKey(exchange.method(), exchange.path(), exchange.requestBody());
+            if (exchange.test() != null) {
+                byTest.computeIfAbsent(exchange.test() + " " + request, key -> new ConcurrentLinkedDeque<>()).add(exchange);
+            }
+            byRequest.computeIfAbsent(request, key -> new ConcurrentLinkedDeque<>()).add(exchange);
+        }
+    }
+
+    /**
+     * Serves the recording on the port of -Dthingifier.baseUrl, or on a free port that becomes ThingifierServer.baseUrl()
+     * @return the running stand-in
+     */
+    public static StubServer start() throws IOException {
+        List<RecordedExchange> exchanges = RecordReplay.load();
+        // Headers and body are written separately, without TCP_NODELAY each response waits for a delayed ACK
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        int port = ThingifierServer.isExternal() ? URI.create(ThingifierServer.baseUrl()).getPort() : 0;
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+        ExecutorService executor = Executors.newFixedThreadPool(16, SharedHttpClient.daemonThreads("stub-server-"));
+        server.setExecutor(executor);
+        StubServer stub = new StubServer(server, executor, exchanges);
+        server.createContext("/", stub::handle);
+        server.start();
+        if (!ThingifierServer.isExternal()) {
+            ThingifierServer.startedOn(server.getAddress().getPort());
+        }
+        return stub;
+    }
+
+    private void handle(HttpExchange http) throws IOException {
+        try (http) {
+            String body = new String(http.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            String request = requestKey(http.getRequestMethod(), RecordReplay.pathOf(http.getRequestURI()), body);
+            String test = http.getRequestHeaders().getFirst(RecordReplay.TEST_HEADER);
+            RecordedExchange recorded = test == null ? null : next(byTest.get(test + " " + request));
+            if (recorded == null) {
+                recorded = next(byRequest.get(request));
+            }
+            if (recorded == null) {
+                byte[] message = ("No recorded response for " + request).getBytes(StandardCharsets.UTF_8);
+                http.sendResponseHeaders(501, message.length);
+                http.getResponseBody().write(message);
+                return;
+            }
+            recorded.headers().forEach((name, values) -> {
+                if (!SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                    http.getResponseHeaders().put(name, values);
+                }
+            });
+            byte[] response = recorded.responseBody().getBytes(StandardCharsets.UTF_8);
+            boolean noBody = response.length == 0 || http.getRequestMethod().equals("HEAD");
+            http.sendResponseHeaders(recorded.status(), noBody ? -1 : response.length);
+            if (!noBody) {
+                try (OutputStream out = http.getResponseBody()) {
+                    out.write(response);
+                }
+            }
+        }
+    }
+
+    /** @return the next recorded response, the last one is kept so it can be replayed again */
+    private static RecordedExchange next(Deque<RecordedExchange> responses) {
+        if (responses == null) {
+            return null;
+        }
+        RecordedExchange next = responses.size() > 1 ? responses.pollFirst() : responses.peekFirst();
+        return next != null ? next : responses.peekFirst();
+    }
+
+    private static String requestKey(String method, String path, String body) {
+        return method + " " + path + (body.isEmpty() ? "" : " " + body);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
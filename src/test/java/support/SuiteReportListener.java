@@ -0,0 +1,143 @@
+package support;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * Prints the harness reports once every test of the surefire run has finished.
+ * Registered in META-INF/services/org.junit.platform.launcher.TestExecutionListener
+ */
+public class SuiteReportListener implements TestExecutionListener {
+
+    /** Report entry keys of the teardown of a test: its duration in nanoseconds and, unless it reset the data, its deletes */
+    public static final String TEARDOWN_NANOS_KEY = "teardownNanos";
+    public static final String TEARDOWN_DELETES_KEY = "teardownDeletes";
+    private static final int SLOWEST_TEARDOWNS = 5;
+    private static final int LARGEST_ALLOCATIONS = 5;
+
+    private final Map<String, Teardown> teardowns = new ConcurrentHashMap<>();
+    private final Map<String, String> latencyWarnings = new ConcurrentHashMap<>();
+    private final Map<TestIdentifier, Long> allocations = new ConcurrentHashMap<>();
+    private final AtomicInteger unmeasuredAllocations = new AtomicInteger();
+
+    @Override
+    public void reportingEntryPublished(TestIdentifier testIdentifier, ReportEntry entry) {
+        String teardownNanos = entry.getKeyValuePairs().get(TEARDOWN_NANOS_KEY);
+        if (teardownNanos != null) {
+            String deletes = entry.getKeyValuePairs().get(TEARDOWN_DELETES_KEY);
+            teardowns.put(testIdentifier.getUniqueId(), new Teardown(testIdentifier.getDisplayName(),
+                    Long.parseLong(teardownNanos), deletes == null ? -1 : Integer.parseInt(deletes)));
+        }
+        String allocated = entry.getKeyValuePairs().get(AllocationExtension.REPORT_KEY);
+        if (AllocationExtension.UNAVAILABLE.equals(allocated)) {
+            unmeasuredAllocations.incrementAndGet();
+        } else if (allocated != null) {
+            allocations.put(testIdentifier, Long.parseLong(allocated));
+        }
+        String latencyWarning = entry.getKeyValuePairs().get(LatencyBudgetExtension.REPORT_KEY);
+        if (latencyWarning != null) {
+            latencyWarnings.put(testIdentifier.getUniqueId(), latencyWarning);
+        }
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        SharedHttpClient client = SharedHttpClient.get();
+        if (client.newConnectionCount() >= 0) {
+            System.out.println(client.connectionSummary());
+        }
+        if (client.timings().count() > 0) {
+            writeTimings(client.timings());
+        }
+        finishRecordings();
+        if (!teardowns.isEmpty()) {
+            printTeardowns();
+        }
+        if (!allocations.isEmpty()) {
+            printAllocations();
+        }
+        if (unmeasuredAllocations.get() > 0) {
+            System.out.printf("Allocated: unavailable for %d tests, the shared HttpClient runs on virtual threads%n",
+                    unmeasuredAllocations.get());
+        }
+        for (String latencyWarning : latencyWarnings.values()) {
+            System.out.println("Latency budget exceeded: " + latencyWarning);
+        }
+    }
+
+    /** With -Pforks every fork adds its timings to the summary of the forks that finished before it */
+    private static void writeTimings(RequestTimings timings) {
+        Path directory = Paths.get(System.getProperty("http.timings.dir", "target"));
+        String fork = System.getProperty("http.timings.fork", "");
+        try {
+            if (fork.isEmpty()) {
+                timings.write(directory);
+                System.out.printf("HTTP timings: %d requests, summary in %s%n", timings.count(),
+                        directory.resolve("http-timings.csv"));
+            } else {
+                long total = timings.writeFork(directory, System.getProperty("http.timings.run", "run"), fork);
+                System.out.printf("HTTP timings: %d requests in %s, %d in all forks so far, summary in %s%n",
+                        timings.count(), fork, total, directory.resolve("http-timings.csv"));
+            }
+        } catch (IOException e) {
+            System.err.println("Could not write the HTTP timings to " + directory + ": " + e.getMessage());
+        }
+    }
+
+    /** Closes the recording and the capture of the run, with -Pforks each fork merges its own file into theirs */
+    private static void finishRecordings() {
+        try {
+            RecordReplay.finish();
+            TrafficCapture.finish();
+        } catch (IOException e) {
+            System.err.println("Could not write the recording or the capture: " + e.getMessage());
+        }
+    }
+
+    /** Teardown entries are published by restoreSystemState, with the deletes when it did not reset the data */
+    private void printTeardowns() {
+        long totalNanos = 0;
+        int totalDeletes = 0;
+        for (Teardown teardown : teardowns.values()) {
+            totalDeletes += Math.max(0, teardown.deletes());
+            totalNanos += teardown.nanos();
+        }
+        System.out.printf("Teardown: %d tests, %d deletes, %.2f ms in total%n", teardowns.size(), totalDeletes, totalNanos / 1e6);
+        List<Teardown> slowest = teardowns.values().stream()
+                .sorted(Comparator.comparingLong(Teardown::nanos).reversed())
+                .limit(SLOWEST_TEARDOWNS)
+                .toList();
+        for (Teardown teardown : slowest) {
+            System.out.println("  " + teardown.format() + " : " + teardown.displayName());
+        }
+    }
+
+    private void printAllocations() {
+        long total = allocations.values().stream().mapToLong(Long::longValue).sum();
+        System.out.printf("Allocated: %d tests, %.1f MB in total, %.1f KB per test%n", allocations.size(),
+                total / (1024.0 * 1024), total / 1024.0 / allocations.size());
+        allocations.entrySet().stream()
+                .sorted(Map.Entry.<TestIdentifier, Long>comparingByValue().reversed())
+                .limit(LARGEST_ALLOCATIONS)
+                .forEach(test -> System.out.printf("  %.1f KB : %s%n", test.getValue() / 1024.0, test.getKey().getDisplayName()));
+    }
+
+    /** @param deletes: instances deleted, -1 when the seed data was reset instead */
+    private record Teardown(String displayName, long nanos, int deletes) {
+
+        String format() {
+            return deletes < 0 ? String.format("reset in %.2f ms", nanos / 1e6)
+                    : String.format("%d deletes in %.2f ms", deletes, nanos / 1e6);
+        }
+    }
+}
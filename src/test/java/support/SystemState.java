@@ -0,0 +1,43 @@
+package support;
+
+/**
+ * Gives a test access to the state of the application under test.
+ * Injected into test and lifecycle methods by ThingifierServerExtension.
+ */
+public final class SystemState {
+
+    private final ThingifierServer server;
+    private final boolean exclusive;
+    private final boolean replaying;
+
+    /**
+     * @param server: in-process server, null when the tests use an external server
+     * @param exclusive: true when no other test can be running at the same time
+     * @param replaying: true when the recorded responses are replayed, there is no data to restore
+     */
+    SystemState(ThingifierServer server, boolean exclusive, boolean replaying) {
+        this.server = server;
+        this.exclusive = exclusive;
+        this.replaying = replaying;
+    }
+
+    /** @return true when reset() can restore the seed data without affecting another test */
+    public boolean canReset() {
+        return replaying || (server != null && exclusive);
+    }
+
+    /**
+     * Restores the application to its seed data when the server runs in-process
+     * and tests are not running in parallel
+     * @return true if the data was restored, false if the test must delete its own data
+     */
+    public boolean reset() {
+        if (!canReset()) {
+            return false;
+        }
+        if (!replaying) {
+            server.reset();
+        }
+        return true;
+    }
+}
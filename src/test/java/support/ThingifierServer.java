@@ -0,0 +1,219 @@
+package support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.BindException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Todo Manager REST API (Thingifier) running inside the test JVM.
+ *
+ * The bundled jar is loaded in its own class loader so its dependencies (Spark, Jetty, Jackson...)
+ * never clash with the test classpath, then started the same way as its Main class but on a free port.
+ * The port is free when chosen but can be taken before Jetty binds it (e.g. by the server of another surefire fork),
+ * so a start that fails to bind is retried in a new class loader on another port. baseUrl() is known once it started.
+ *
+ * Configuration (system properties):
+ *  - thingifier.baseUrl: use an already running server instead (e.g. http://localhost:4567)
+ *  - thingifier.jar: path of the Todo Manager jar
+ */
+public final class ThingifierServer implements AutoCloseable {
+
+    private static final String DEFAULT_JAR = "runTodoManagerRestAPI-1.5.5.jar";
+    private static final String MODEL_NAME = "todoManager";
+    private static final int START_ATTEMPTS = 5;
+
+    private static volatile String baseUrl = System.getProperty("thingifier.baseUrl");
+
+    private final URLClassLoader classLoader;
+    private final Object thingifier;
+
+    private ThingifierServer(URLClassLoader classLoader, Object thingifier) {
+        this.classLoader = classLoader;
+        this.thingifier = thingifier;
+    }
+
+    /** @return url of the server used by the tests */
+    public static String baseUrl() {
+        String url = baseUrl;
+        if (url == null) {
+            throw new IllegalStateException("The Todo Manager is not started yet, ThingifierServerExtension starts it "
+                    + "before the first test class (or set -Dthingifier.baseUrl)");
+        }
+        return url;
+    }
+
+    /** @param port: local port the server or its stand-in listens on, makes it the url of the tests */
+    static void startedOn(int port) {
+        baseUrl = "http://localhost:" + port;
+    }
+
+    /** @return true when the tests run against a server started outside of the test JVM */
+    public static boolean isExternal() {
+        return System.getProperty("thingifier.baseUrl") != null;
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not find a free port for the Todo Manager server", e);
+        }
+    }
+
+    /**
+     * Starts the Todo Manager on a free port, then waits until /gui answers and makes it baseUrl()
+     * @param readyTimeout: maximum time to wait for the server to answer
+     * @return the running server
+     */
+    public static ThingifierServer start(Duration readyTimeout) throws Exception {
+        Path jar = Paths.get(System.getProperty("thingifier.jar", DEFAULT_JAR)).toAbsolutePath();
+        if (!Files.exists(jar)) {
+            throw new IllegalStateException("Todo Manager jar not found: " + jar);
+        }
+        for (int attempt = 1; ; attempt++) {
+            int port = freePort();
+            try {
+                ThingifierServer server = start(jar, port, readyTimeout);
+                startedOn(port);
+                return server;
+            } catch (BindException e) {
+                if (attempt == START_ATTEMPTS) {
+                    throw e;
+                }
+                System.err.println("Todo Manager could not bind port " + port + ", starting it on another port: " + e.getMessage());
+            }
+        }
+    }
+
+    /** @throws BindException when the port was taken before Jetty could bind it */
+    static ThingifierServer start(Path jar, int port, Duration readyTimeout) throws Exception {
+        URLClassLoader classLoader = new URLClassLoader(new URL[] {jar.toUri().toURL()},
+                ClassLoader.getPlatformClassLoader());
+
+        Thread current = Thread.currentThread();
+        ClassLoader previous = current.getContextClassLoader();
+        current.setContextClassLoader(classLoader);
+        try {
+            // Spark exits the JVM when Jetty fails to start unless a handler is set before the first route
+            Class<?> spark = classLoader.loadClass("spark.Spark");
+            AtomicReference<Exception> startFailure = new AtomicReference<>();
+            spark.getMethod("initExceptionHandler", Consumer.class).invoke(null, (Consumer<Exception>) startFailure::set);
+            // Same start up sequence as uk.co.compendiumdev.todolist.application.Main
+            Class<?> mainClass = classLoader.loadClass("uk.co.compendiumdev.thingifier.application.MainImplementation");
+            Object app = mainClass.getConstructor().newInstance();
+            Object model = classLoader.loadClass("uk.co.compendiumdev.thingifier.application.examples.TodoManagerThingifier")
+                    .getConstructor().newInstance();
+            Object modelThingifier = model.getClass().getMethod("get").invoke(model);
+            Class<?> thingifierClass = classLoader.loadClass("uk.co.compendiumdev.thingifier.Thingifier");
+            mainClass.getMethod("registerModel", String.class, thingifierClass).invoke(app, MODEL_NAME, modelThingifier);
+            mainClass.getMethod("setDefaultsFromArgs", String[].class).invoke(app, (Object) new String[] {"-port=" + port});
+            mainClass.getMethod("configurePortAndDefaultRoutes").invoke(app);
+            mainClass.getMethod("setupBuiltInConfigurableRoutes").invoke(app);
+            Object thingifier = mainClass.getMethod("chooseThingifier").invoke(app);
+            mainClass.getMethod("configureThingifierWithProfile").invoke(app);
+            mainClass.getMethod("setupDefaultGui").invoke(app);
+            redirectRootToGui(classLoader);
+            mainClass.getMethod("startRestServer").invoke(app);
+            mainClass.getMethod("addBuiltInArgConfiguredHooks").invoke(app);
+            spark.getMethod("awaitInitialization").invoke(null);
+
+            ThingifierServer server = new ThingifierServer(classLoader, thingifier);
+            if (startFailure.get() != null) {
+                server.close();
+                throw bindFailure(startFailure.get(), port);
+            }
+            server.awaitReady("http://localhost:" + port, readyTimeout);
+            return server;
+        } finally {
+            current.setContextClassLoader(previous);
+        }
+    }
+
+    /** GET / redirects to /gui as it does in the standalone application */
+    private static void redirectRootToGui(ClassLoader classLoader) throws Exception {
+        Class<?> routeClass = classLoader.loadClass("spark.Route");
+        Class<?> responseClass = classLoader.loadClass("spark.Response");
+        Method redirect = responseClass.getMethod("redirect", String.class);
+        Object route = Proxy.newProxyInstance(classLoader, new Class<?>[] {routeClass}, (proxy, method, args) -> {
+            if (method.getName().equals("handle")) {
+                redirect.invoke(args[1], "/gui");
+                return "";
+            }
+            return method.invoke(proxy, args);
+        });
+        classLoader.loadClass("spark.Spark").getMethod("get", String.class, routeClass).invoke(null, "/", route);
+    }
+
+    /** @return the BindException behind a failed Jetty start, or an IllegalStateException for any other failure */
+    private static Exception bindFailure(Exception failure, int port) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BindException bind) {
+                return bind;
+            }
+        }
+        return new IllegalStateException("Todo Manager could not start on port " + port, failure);
+    }
+
+    private void awaitReady(String url, Duration timeout) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(url + "/gui"))
+                .timeout(Duration.ofSeconds(1))
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                if (System.nanoTime() > deadline) {
+                    throw e;
+                }
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Todo Manager did not answer GET /gui within " + timeout);
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    /**
+     * Restores the model to the TodoManagerAPIDataPopulator seed data in one call,
+     * the same way ClearDataPreSparkRequestHook clears the data periodically
+     */
+    public synchronized void reset() {
+        try {
+            thingifier.getClass().getMethod("clearAllData").invoke(thingifier);
+            thingifier.getClass().getMethod("generateData").invoke(thingifier);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not reset the Todo Manager data", e);
+        }
+    }
+
+    /** Stops Spark/Jetty and releases the jar */
+    @Override
+    public void close() throws Exception {
+        Class<?> spark = classLoader.loadClass("spark.Spark");
+        spark.getMethod("stop").invoke(null);
+        spark.getMethod("awaitStop").invoke(null);
+        classLoader.close();
+    }
+}
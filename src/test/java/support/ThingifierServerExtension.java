@@ -0,0 +1,107 @@
+package support;
+
+import java.time.Duration;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+/**
+ * Starts the Todo Manager inside the test JVM before the first test class runs.
+ * The server is kept in the root store so every test class shares it,
+ * and JUnit stops it once all tests are done.
+ * Nothing is started when -Dthingifier.baseUrl points to a server that is already running.
+ *
+ * Test and lifecycle methods can declare a SystemState parameter to reset the data of the server.
+ *
+ * With -Dthingifier.mode=replay the recorded responses are served by StubServer instead (see RecordReplay),
+ * the extension tells RecordReplay which test is running so its requests can be recorded and replayed.
+ *
+ * With -Dthingifier.jfr=true the in-process server is recorded with Java Flight Recorder (see FlightRecording).
+ */
+public class ThingifierServerExtension implements BeforeAllCallback, AfterAllCallback, BeforeEachCallback,
+        AfterEachCallback, ParameterResolver {
+
+    private static final Duration READY_TIMEOUT = Duration.ofSeconds(30);
+    private static final String PARALLEL_ENABLED = "junit.jupiter.execution.parallel.enabled";
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        RecordReplay.setCurrentTest(context.getUniqueId());
+        if (ThingifierServer.isExternal() && RecordReplay.mode() != RecordReplay.Mode.REPLAY) {
+            return;
+        }
+        context.getRoot().getStore(ExtensionContext.Namespace.GLOBAL)
+                .getOrComputeIfAbsent(ThingifierServer.class, key -> new RunningServer(), RunningServer.class);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        RecordReplay.setCurrentTest(context.getUniqueId());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        // Back to the class, its @AfterAll methods may still send requests
+        RecordReplay.setCurrentTest(context.getParent().map(ExtensionContext::getUniqueId).orElse(null));
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        RecordReplay.setCurrentTest(null);
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == SystemState.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        RunningServer running = extensionContext.getRoot().getStore(ExtensionContext.Namespace.GLOBAL)
+                .get(ThingifierServer.class, RunningServer.class);
+        // A reset would remove the data of tests running at the same time
+        boolean parallel = extensionContext.getConfigurationParameter(PARALLEL_ENABLED, Boolean::parseBoolean).orElse(false);
+        return new SystemState(running == null ? null : running.server, !parallel, running != null && running.stub != null);
+    }
+
+    /** Wraps the server, or its stand-in when replaying, so the root store closes it at the end of the run */
+    static final class RunningServer implements ExtensionContext.Store.CloseableResource {
+
+        private final ThingifierServer server;
+        private final StubServer stub;
+        private final FlightRecording recording;
+
+        RunningServer() {
+            try {
+                if (RecordReplay.mode() == RecordReplay.Mode.REPLAY) {
+                    server = null;
+                    stub = StubServer.start();
+                    recording = null;
+                } else {
+                    recording = FlightRecording.enabled() ? FlightRecording.start() : null;
+                    server = ThingifierServer.start(READY_TIMEOUT);
+                    stub = null;
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not start the Todo Manager in the test JVM", e);
+            }
+        }
+
+        @Override
+        public void close() throws Exception {
+            HealthWatchdog.stop();
+            if (stub != null) {
+                stub.close();
+            } else {
+                server.close();
+            }
+            if (recording != null) {
+                recording.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+
+/**
+ * Capture of every request sent through the shared HttpClient, to be replayed by load.TraceReplayer.
+ *
+ * Configuration (system properties):
+ *  - http.capture: file receiving the requests, one JSON object per line (timestamp, method, path, headers, body),
+ *    capture is off when not set
+ *
+ * Requests are written in the order they are sent, with the time they were sent, so the trace keeps
+ * the inter-arrival times of the run. With -Pforks every fork captures to its own file, merged into the trace
+ * in timestamp order when the fork finishes (see ForkFiles).
+ */
+public final class TrafficCapture {
+
+    private static final String FILE = System.getProperty("http.capture", "");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static BufferedWriter writer;
+
+    private TrafficCapture() {
+    }
+
+    /** @return true when the requests of the run are captured */
+    public static boolean enabled() {
+        return !FILE.isEmpty();
+    }
+
+    /** @return file receiving the requests */
+    public static Path file() {
+        return Paths.get(FILE);
+    }
+
+    /** Appends a request to the trace, the file is emptied by the first request of the run */
+    static synchronized void capture(HttpRequest request) {
+        Path file = ForkFiles.of(file());
+        try {
+            if (writer == null) {
+                if (file.toAbsolutePath().getParent() != null) {
+                    Files.createDirectories(file.toAbsolutePath().getParent());
+                }
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            }
+            // Timestamped under the lock so the lines are in send order
+            CapturedRequest captured = new CapturedRequest(Instant.now().toString(), request.method(),
+                    RecordReplay.pathOf(request.uri()), request.headers().map(), RecordReplay.bodyOf(request));
+            writer.write(MAPPER.writeValueAsString(captured));
+            writer.newLine();
+            // Flushed every time, nothing tells the capture when the last request is sent
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not capture to " + file, e);
+        }
+    }
+
+    /** Closes the trace once the last request is sent, a fork adds its requests to those of the forks that finished before */
+    static synchronized void finish() throws IOException {
+        if (writer == null) {
+            return;
+        }
+        writer.close();
+        writer = null;
+        if (ForkFiles.forked()) {
+            long requests = ForkFiles.mergeLines(file(), TrafficCapture::sentAt);
+            System.out.printf("Captured %d requests in all forks so far to %s%n", requests, file());
+        }
+    }
+
+    private static Instant sentAt(String line) {
+        try {
+            return Instant.parse(MAPPER.readValue(line, CapturedRequest.class).timestamp());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable captured request: " + line, e);
+        }
+    }
+}
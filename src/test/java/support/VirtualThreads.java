@@ -0,0 +1,44 @@
+package support;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Virtual thread executors for the shared HttpClient and the load workers.
+ *
+ * The sources target Java 17, so the Java 21 API is looked up at run time:
+ * run with -Pjava21 on a JDK 21 to use them.
+ */
+public final class VirtualThreads {
+
+    private static final Method NEW_EXECUTOR = lookup();
+
+    private VirtualThreads() {
+    }
+
+    private static Method lookup() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /** @return true when the JVM supports virtual threads (Java 21 or later) */
+    public static boolean available() {
+        return NEW_EXECUTOR != null;
+    }
+
+    /** @return executor starting a new virtual thread for every task */
+    public static ExecutorService newPerTaskExecutor() {
+        if (NEW_EXECUTOR == null) {
+            throw new IllegalStateException("Virtual threads need Java 21, running on " + System.getProperty("java.version"));
+        }
+        try {
+            return (ExecutorService) NEW_EXECUTOR.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create a virtual thread executor", e);
+        }
+    }
+}
@@ -1,22 +1,37 @@
 package unit;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 import static org.junit.jupiter.api.Assertions.*;
 import java.io.IOException;
 import java.io.StringReader;
 import java.net.URI;
 import java.net.http.*;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import javax.json.Json;
 import javax.json.JsonArray;
 import javax.json.JsonObject;
 import javax.json.JsonReader;
+import com.fasterxml.jackson.databind.JsonNode;
+import support.SharedHttpClient;
+import support.AsyncFixtures;
+import support.CleanupLedger;
+import support.SystemState;
+import support.LatencyBudget;
+import support.JsonArrayStream;
+import support.SuiteReportListener;
 
 @TestMethodOrder(MethodOrderer.Random.class)
+@Execution(ExecutionMode.CONCURRENT)
 public class ProjectsTest extends SystemTest {
 
-    private static final String BASE_URL = "http://localhost:4567";
-    private static HttpClient client = HttpClient.newHttpClient();
+    private static HttpClient client = SharedHttpClient.get();
+    private final CleanupLedger ledger = new CleanupLedger(client, BASE_URL);
+    private final AsyncFixtures fixtures = new AsyncFixtures(client, BASE_URL, ledger);
     private String createdProjectId;
     private String createdProjectId2;
     private String createdCategoryId;
@@ -39,116 +54,25 @@ public class ProjectsTest extends SystemTest {
 
     /** Restore system to its initial state */
     @AfterEach
-    void restoreSystemState(){
+    void restoreSystemState(TestReporter testReporter, SystemState systemState){
         // Only necessary for POST/PUT/DELETE tests to ensure ressources that are changed are removed
-        if (createdProjectId != null && !createdProjectId.isEmpty()) {
-            try {
-                HttpRequest deleteRequest = HttpRequest.newBuilder()
-                        .uri(URI.create(BASE_URL + "/projects/" + createdProjectId))
-                        .DELETE()
-                        .build();
-                
-                HttpResponse<String> deleteResponse = client.send(deleteRequest, HttpResponse.BodyHandlers.ofString());
-                if (deleteResponse.statusCode() != 200 && deleteResponse.statusCode()!= 204){
-                    //System.err.println("Failed to clean up. Status: " + deleteResponse.statusCode());
-                }
-                
-                //System.out.println("Cleaned up created project: ");
-            } catch (IOException | InterruptedException e) {
-                //System.err.println("Failed to clean up project: " + e.getMessage());
-            }
-        }
-
-        if (createdProjectId2 != null && !createdProjectId2.isEmpty()) {
-            try {
-                HttpRequest deleteRequest = HttpRequest.newBuilder()
-                        .uri(URI.create(BASE_URL + "/projects/" + createdProjectId2))
-                        .DELETE()
-                        .build();
-                
-                HttpResponse<String> deleteResponse = client.send(deleteRequest, HttpResponse.BodyHandlers.ofString());
-                if (deleteResponse.statusCode() != 200 && deleteResponse.statusCode()!= 204){
-                    //System.err.println("Failed to clean up. Status: " + deleteResponse.statusCode());
-                }
-                
-                //System.out.println("Cleaned up created project: ");
-            } catch (IOException | InterruptedException e) {
-                //System.err.println("Failed to clean up project: " + e.getMessage());
-            }
-        }
-
-        if (createdCategoryId != null && !createdCategoryId.isEmpty()) {
-            try {
-                HttpRequest deleteRequest = HttpRequest.newBuilder()
-                        .uri(URI.create(BASE_URL + "/categories/" + createdCategoryId))
-                        .DELETE()
-                        .build();
-                
-                HttpResponse<String> deleteResponse = client.send(deleteRequest, HttpResponse.BodyHandlers.ofString());
-                if (deleteResponse.statusCode() != 200 && deleteResponse.statusCode()!= 204){
-                    //System.err.println("Failed to clean up. Status: " + deleteResponse.statusCode());
-                }
-                
-                //System.out.println("Cleaned up created project: ");
-            } catch (IOException | InterruptedException e) {
-                //System.err.println("Failed to clean up project: " + e.getMessage());
-            }
-        }
-
-        if (createdCategoryId2 != null && !createdCategoryId2.isEmpty()) {
-            try {
-                HttpRequest deleteRequest = HttpRequest.newBuilder()
-                        .uri(URI.create(BASE_URL + "/categories/" + createdCategoryId2))
-                        .DELETE()
-                        .build();
-                
-                HttpResponse<String> deleteResponse = client.send(deleteRequest, HttpResponse.BodyHandlers.ofString());
-                if (deleteResponse.statusCode() != 200 && deleteResponse.statusCode()!= 204){
-                    //System.err.println("Failed to clean up. Status: " + deleteResponse.statusCode());
-                }
-                
-                //System.out.println("Cleaned up created project: ");
-            } catch (IOException | InterruptedException e) {
-                //System.err.println("Failed to clean up project: " + e.getMessage());
-            }
+        long start = System.nanoTime();
+        if (systemState.reset()) {
+            // Server runs in this JVM and no other test is running: restore the seed data in one call
+            testReporter.publishEntry(SuiteReportListener.TEARDOWN_NANOS_KEY, String.valueOf(System.nanoTime() - start));
+            return;
         }
-
-        if (createdTaskId != null && !createdTaskId.isEmpty()) {
-            try {
-                HttpRequest deleteRequest = HttpRequest.newBuilder()
-                        .uri(URI.create(BASE_URL + "/todos/" + createdTaskId))
-                        .DELETE()
-                        .build();
-                
-                HttpResponse<String> deleteResponse = client.send(deleteRequest, HttpResponse.BodyHandlers.ofString());
-                if (deleteResponse.statusCode() != 200 && deleteResponse.statusCode()!= 204){
-                    //System.err.println("Failed to clean up. Status: " + deleteResponse.statusCode());
-                }
-                
-                //System.out.println("Cleaned up created project: ");
-            } catch (IOException | InterruptedException e) {
-                //System.err.println("Failed to clean up project: " + e.getMessage());
-            }
-        }
-
-        if (createdTaskId2 != null && !createdTaskId2.isEmpty()) {
-            try {
-                HttpRequest deleteRequest = HttpRequest.newBuilder()
-                        .uri(URI.create(BASE_URL + "/todos/" + createdTaskId2))
-                        .DELETE()
-                        .build();
-                
-                HttpResponse<String> deleteResponse = client.send(deleteRequest, HttpResponse.BodyHandlers.ofString());
-                if (deleteResponse.statusCode() != 200 && deleteResponse.statusCode()!= 204){
-                    //System.err.println("Failed to clean up. Status: " + deleteResponse.statusCode());
-                }
-                
-                //System.out.println("Cleaned up created project: ");
-            } catch (IOException | InterruptedException e) {
-                //System.err.println("Failed to clean up project: " + e.getMessage());
-            }
-        }
-
+        ledger.track("/projects", createdProjectId);
+        ledger.track("/projects", createdProjectId2);
+        ledger.track("/categories", createdCategoryId);
+        ledger.track("/categories", createdCategoryId2);
+        ledger.track("/todos", createdTaskId);
+        ledger.track("/todos", createdTaskId2);
+        // Delete everything this test created in one concurrent batch
+        int deletes = ledger.size();
+        Duration teardown = ledger.deleteAll();
+        testReporter.publishEntry(Map.of(SuiteReportListener.TEARDOWN_NANOS_KEY, String.valueOf(teardown.toNanos()),
+                SuiteReportListener.TEARDOWN_DELETES_KEY, String.valueOf(deletes)));
     }
 
     // --------------------- /projects ----------------------
@@ -199,8 +123,9 @@ public class ProjectsTest extends SystemTest {
         }
     }
 
-    @Test
+    @RepeatedTest(20)
     @DisplayName("GET /projects should return all current instances")
+    @LatencyBudget(endpoint = "GET /projects", millis = 50, percentile = 95)
     void testGetAllProjects() throws IOException, InterruptedException {
         // Arrange
         
@@ -210,18 +135,19 @@ public class ProjectsTest extends SystemTest {
                 .GET()
                 .build();
 
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<JsonArrayStream> response = client.send(request, JsonArrayStream.ofArray("projects"));
 
 
-        try (JsonReader reader = Json.createReader(new StringReader(response.body()))) {
-            // Retrieve response 
-            JsonObject root = reader.readObject();
-
+        // Projects are read one at a time while the response is received
+        try (JsonArrayStream projects = response.body()) {
             // Assert
-            assertTrue(root.containsKey("projects"));
-            JsonArray projectsArray = root.getJsonArray("projects");
-            assertNotNull(projectsArray, "Retrieved project array should not be null");
-            assertTrue(projectsArray.size() > 0, "There should be at least one project");
+            assertTrue(projects.hasArray(), "Retrieved project array should not be null");
+            int count = 0;
+            for (JsonNode project : projects) {
+                assertTrue(project.has("id"));
+                count++;
+            }
+            assertTrue(count > 0, "There should be at least one project");
 
             assertEquals(200, response.statusCode(), "Expected HTTP 200 OK");
         }
@@ -296,7 +222,7 @@ public class ProjectsTest extends SystemTest {
                 .DELETE()
                 .build();
 
-        HttpResponse<String> response2 = client.send(request2, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response2 = client.send(request2, HttpResponse.BodyHandlers.discarding());
 
         // Assert
         try (JsonReader reader = Json.createReader(new StringReader(response.body()))) {
@@ -336,7 +262,7 @@ public class ProjectsTest extends SystemTest {
                 .PUT(HttpRequest.BodyPublishers.ofString(jsonBody))
                 .build();
 
-        HttpResponse<String> response2 = client.send(request2, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response2 = client.send(request2, HttpResponse.BodyHandlers.discarding());
 
         // Assert
         try (JsonReader reader = Json.createReader(new StringReader(response.body()))) {
@@ -577,7 +503,7 @@ public class ProjectsTest extends SystemTest {
                 .DELETE()
                 .build();
         
-        HttpResponse<String> response2 = client.send(request2, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response2 = client.send(request2, HttpResponse.BodyHandlers.discarding());
             assertEquals(200, response2.statusCode(), "Expected HTTP 200 OK");
 
         // Attempt to retrieve the same project
@@ -656,15 +582,7 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/projects"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .build();
-
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader = Json.createReader(new StringReader(response.body()));
-        JsonObject json = reader.readObject();
-        createdProjectId = json.getString("id").trim(); // store for cleanup
+        CompletableFuture<String> newProject = fixtures.create("/projects", jsonBody);
 
         // Create an initial category
         String jsonBody2 = """
@@ -674,15 +592,12 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request2 = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/categories"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody2))
-                .build();
+        CompletableFuture<String> newCategory = fixtures.create("/categories", jsonBody2);
 
-        HttpResponse<String> response2 = client.send(request2, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader2 = Json.createReader(new StringReader(response2.body()));
-        JsonObject json2 = reader2.readObject();
-        createdCategoryId = json2.getString("id").trim(); // store for cleanup
+        // Wait for the independent creates sent above
+        AsyncFixtures.awaitAll(newProject, newCategory);
+        createdProjectId = newProject.join(); // store for cleanup
+        createdCategoryId = newCategory.join(); // store for cleanup
 
         // Act
         
@@ -698,7 +613,7 @@ public class ProjectsTest extends SystemTest {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody3))
                 .build();
         
-        HttpResponse<String> response3 = client.send(request3, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response3 = client.send(request3, HttpResponse.BodyHandlers.discarding());
         assertTrue(response3.statusCode() == 200 || response3.statusCode() == 201);
 
         // Get the project back to ensure association was created
@@ -749,15 +664,7 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/projects"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .build();
-
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader = Json.createReader(new StringReader(response.body()));
-        JsonObject json = reader.readObject();
-        createdProjectId = json.getString("id").trim(); // store for cleanup
+        CompletableFuture<String> newProject = fixtures.create("/projects", jsonBody);
 
         // Create two initial categories
         String jsonBody2a = """
@@ -767,15 +674,7 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request2a = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/categories"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody2a))
-                .build();
-
-        HttpResponse<String> response2a = client.send(request2a, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader2a = Json.createReader(new StringReader(response2a.body()));
-        JsonObject json2a = reader2a.readObject();
-        createdCategoryId = json2a.getString("id").trim(); // store for cleanup
+        CompletableFuture<String> newCategory = fixtures.create("/categories", jsonBody2a);
 
         String jsonBody2b = """
             {
@@ -784,15 +683,13 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request2b = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/categories"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody2b))
-                .build();
+        CompletableFuture<String> newCategory2 = fixtures.create("/categories", jsonBody2b);
 
-        HttpResponse<String> response2b = client.send(request2b, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader2b = Json.createReader(new StringReader(response2b.body()));
-        JsonObject json2b = reader2b.readObject();
-        createdCategoryId2 = json2b.getString("id").trim(); // store for cleanup
+        // Wait for the independent creates sent above
+        AsyncFixtures.awaitAll(newProject, newCategory, newCategory2);
+        createdProjectId = newProject.join(); // store for cleanup
+        createdCategoryId = newCategory.join(); // store for cleanup
+        createdCategoryId2 = newCategory2.join(); // store for cleanup
 
         
        // Associate the categories with the project
@@ -807,7 +704,7 @@ public class ProjectsTest extends SystemTest {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody3a))
                 .build();
         
-        HttpResponse<String> response3a = client.send(request3a, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response3a = client.send(request3a, HttpResponse.BodyHandlers.discarding());
         assertTrue(response3a.statusCode() == 201);
 
         String jsonBody3b = String.format("""
@@ -821,7 +718,7 @@ public class ProjectsTest extends SystemTest {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody3b))
                 .build();
         
-        HttpResponse<String> response3b = client.send(request3b, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response3b = client.send(request3b, HttpResponse.BodyHandlers.discarding());
         assertTrue(response3b.statusCode() == 201);
 
         // Act
@@ -881,15 +778,7 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/projects"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .build();
-
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader = Json.createReader(new StringReader(response.body()));
-        JsonObject json = reader.readObject();
-        createdProjectId = json.getString("id").trim(); // store for cleanup
+        CompletableFuture<String> newProject = fixtures.create("/projects", jsonBody);
 
         // Create an initial category
         String jsonBody2 = """
@@ -899,15 +788,12 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request2 = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/categories"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody2))
-                .build();
+        CompletableFuture<String> newCategory = fixtures.create("/categories", jsonBody2);
 
-        HttpResponse<String> response2 = client.send(request2, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader2 = Json.createReader(new StringReader(response2.body()));
-        JsonObject json2 = reader2.readObject();
-        createdCategoryId = json2.getString("id").trim(); 
+        // Wait for the independent creates sent above
+        AsyncFixtures.awaitAll(newProject, newCategory);
+        createdProjectId = newProject.join(); // store for cleanup
+        createdCategoryId = newCategory.join();
         
         // Associate the category with the project
         String jsonBody3 = String.format("""
@@ -921,7 +807,7 @@ public class ProjectsTest extends SystemTest {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody3))
                 .build();
         
-        HttpResponse<String> response3 = client.send(request3, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response3 = client.send(request3, HttpResponse.BodyHandlers.discarding());
         assertTrue(response3.statusCode() == 200 || response3.statusCode() == 201);
 
         // Act
@@ -952,15 +838,7 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/projects"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .build();
-
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader = Json.createReader(new StringReader(response.body()));
-        JsonObject json = reader.readObject();
-        createdProjectId = json.getString("id").trim(); // store for cleanup
+        CompletableFuture<String> newProject = fixtures.create("/projects", jsonBody);
 
         // Create an initial category
         String jsonBody2 = """
@@ -970,15 +848,12 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request2 = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/categories"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody2))
-                .build();
+        CompletableFuture<String> newCategory = fixtures.create("/categories", jsonBody2);
 
-        HttpResponse<String> response2 = client.send(request2, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader2 = Json.createReader(new StringReader(response2.body()));
-        JsonObject json2 = reader2.readObject();
-        createdCategoryId = json2.getString("id").trim(); 
+        // Wait for the independent creates sent above
+        AsyncFixtures.awaitAll(newProject, newCategory);
+        createdProjectId = newProject.join(); // store for cleanup
+        createdCategoryId = newCategory.join();
         
         // Associate the category with the project
         String jsonBody3 = String.format("""
@@ -992,7 +867,7 @@ public class ProjectsTest extends SystemTest {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody3))
                 .build();
         
-        HttpResponse<String> response3 = client.send(request3, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response3 = client.send(request3, HttpResponse.BodyHandlers.discarding());
         assertTrue(response3.statusCode() == 200 || response3.statusCode() == 201);
 
         // Act
@@ -1032,15 +907,7 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/projects"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .build();
-
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader = Json.createReader(new StringReader(response.body()));
-        JsonObject json = reader.readObject();
-        createdProjectId = json.getString("id").trim(); // store for cleanup
+        CompletableFuture<String> newProject = fixtures.create("/projects", jsonBody);
 
         // Create two initial categories
         String jsonBody2a = """
@@ -1050,15 +917,7 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request2a = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/categories"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody2a))
-                .build();
-
-        HttpResponse<String> response2a = client.send(request2a, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader2a = Json.createReader(new StringReader(response2a.body()));
-        JsonObject json2a = reader2a.readObject();
-        createdCategoryId = json2a.getString("id").trim(); // store for cleanup
+        CompletableFuture<String> newCategory = fixtures.create("/categories", jsonBody2a);
 
         String jsonBody2b = """
             {
@@ -1067,15 +926,13 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request2b = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/categories"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody2b))
-                .build();
+        CompletableFuture<String> newCategory2 = fixtures.create("/categories", jsonBody2b);
 
-        HttpResponse<String> response2b = client.send(request2b, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader2b = Json.createReader(new StringReader(response2b.body()));
-        JsonObject json2b = reader2b.readObject();
-        createdCategoryId2 = json2b.getString("id").trim(); // store for cleanup
+        // Wait for the independent creates sent above
+        AsyncFixtures.awaitAll(newProject, newCategory, newCategory2);
+        createdProjectId = newProject.join(); // store for cleanup
+        createdCategoryId = newCategory.join(); // store for cleanup
+        createdCategoryId2 = newCategory2.join(); // store for cleanup
 
         
        // Associate the categories with the project
@@ -1090,7 +947,7 @@ public class ProjectsTest extends SystemTest {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody3a))
                 .build();
         
-        HttpResponse<String> response3a = client.send(request3a, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response3a = client.send(request3a, HttpResponse.BodyHandlers.discarding());
         assertTrue(response3a.statusCode() == 201);
 
         String jsonBody3b = String.format("""
@@ -1104,7 +961,7 @@ public class ProjectsTest extends SystemTest {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody3b))
                 .build();
         
-        HttpResponse<String> response3b = client.send(request3b, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response3b = client.send(request3b, HttpResponse.BodyHandlers.discarding());
         assertTrue(response3b.statusCode() == 201);
 
         // Act
@@ -1114,7 +971,7 @@ public class ProjectsTest extends SystemTest {
                 .DELETE()
                 .build();
 
-        HttpResponse<String> response4 = client.send(request4, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response4 = client.send(request4, HttpResponse.BodyHandlers.discarding());
         
         // Retrieve the project that was associated to the categories
         HttpRequest request5 = HttpRequest.newBuilder()
@@ -1174,15 +1031,7 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/projects"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .build();
-
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader = Json.createReader(new StringReader(response.body()));
-        JsonObject json = reader.readObject();
-        createdProjectId = json.getString("id").trim(); // store for cleanup
+        CompletableFuture<String> newProject = fixtures.create("/projects", jsonBody);
 
         // Create an initial category
         String jsonBody2 = """
@@ -1192,15 +1041,12 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request2 = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/categories"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody2))
-                .build();
+        CompletableFuture<String> newCategory = fixtures.create("/categories", jsonBody2);
 
-        HttpResponse<String> response2 = client.send(request2, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader2 = Json.createReader(new StringReader(response2.body()));
-        JsonObject json2 = reader2.readObject();
-        createdCategoryId = json2.getString("id").trim(); 
+        // Wait for the independent creates sent above
+        AsyncFixtures.awaitAll(newProject, newCategory);
+        createdProjectId = newProject.join(); // store for cleanup
+        createdCategoryId = newCategory.join();
         
         // Associate the category with the project
         String jsonBody3 = String.format("""
@@ -1214,7 +1060,7 @@ public class ProjectsTest extends SystemTest {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody3))
                 .build();
         
-        HttpResponse<String> response3 = client.send(request3, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response3 = client.send(request3, HttpResponse.BodyHandlers.discarding());
         assertTrue(response3.statusCode() == 200 || response3.statusCode() == 201);
 
         // Act
@@ -1245,15 +1091,7 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/projects"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .build();
-
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader = Json.createReader(new StringReader(response.body()));
-        JsonObject json = reader.readObject();
-        createdProjectId = json.getString("id").trim(); // store for cleanup
+        CompletableFuture<String> newProject = fixtures.create("/projects", jsonBody);
         
 
         // Create two initial todo items
@@ -1265,15 +1103,7 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request2a = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/todos"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody2a))
-                .build();
-
-        HttpResponse<String> response2a = client.send(request2a, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader2a = Json.createReader(new StringReader(response2a.body()));
-        JsonObject json2a = reader2a.readObject();
-        createdTaskId = json2a.getString("id").trim(); // store for cleanup
+        CompletableFuture<String> newTask = fixtures.create("/todos", jsonBody2a);
 
         String jsonBody2b = """
             {
@@ -1283,15 +1113,13 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request2b = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/todos"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody2b))
-                .build();
+        CompletableFuture<String> newTask2 = fixtures.create("/todos", jsonBody2b);
 
-        HttpResponse<String> response2b = client.send(request2b, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader2b = Json.createReader(new StringReader(response2b.body()));
-        JsonObject json2b = reader2b.readObject();
-        createdTaskId2 = json2b.getString("id").trim(); // store for cleanup
+        // Wait for the independent creates sent above
+        AsyncFixtures.awaitAll(newProject, newTask, newTask2);
+        createdProjectId = newProject.join(); // store for cleanup
+        createdTaskId = newTask.join(); // store for cleanup
+        createdTaskId2 = newTask2.join(); // store for cleanup
 
         // Act
         // Associate the todo items with the project
@@ -1306,7 +1134,7 @@ public class ProjectsTest extends SystemTest {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody3a))
                 .build();
         
-        HttpResponse<String> response3a = client.send(request3a, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response3a = client.send(request3a, HttpResponse.BodyHandlers.discarding());
         assertTrue(response3a.statusCode() == 201);
 
         String jsonBody3b = String.format("""
@@ -1320,7 +1148,7 @@ public class ProjectsTest extends SystemTest {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody3b))
                 .build();
         
-        HttpResponse<String> response3b = client.send(request3b, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response3b = client.send(request3b, HttpResponse.BodyHandlers.discarding());
         assertTrue(response3b.statusCode() == 201);
 
         // Get the project back to ensure association was created
@@ -1379,15 +1207,7 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/projects"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .build();
-
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader = Json.createReader(new StringReader(response.body()));
-        JsonObject json = reader.readObject();
-        createdProjectId = json.getString("id").trim(); // store for cleanup
+        CompletableFuture<String> newProject = fixtures.create("/projects", jsonBody);
         
 
         // Create two initial todo items
@@ -1399,15 +1219,7 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request2a = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/todos"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody2a))
-                .build();
-
-        HttpResponse<String> response2a = client.send(request2a, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader2a = Json.createReader(new StringReader(response2a.body()));
-        JsonObject json2a = reader2a.readObject();
-        createdTaskId = json2a.getString("id").trim(); // store for cleanup
+        CompletableFuture<String> newTask = fixtures.create("/todos", jsonBody2a);
 
         String jsonBody2b = """
             {
@@ -1417,15 +1229,13 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request2b = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/todos"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody2b))
-                .build();
+        CompletableFuture<String> newTask2 = fixtures.create("/todos", jsonBody2b);
 
-        HttpResponse<String> response2b = client.send(request2b, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader2b = Json.createReader(new StringReader(response2b.body()));
-        JsonObject json2b = reader2b.readObject();
-        createdTaskId2 = json2b.getString("id").trim(); // store for cleanup
+        // Wait for the independent creates sent above
+        AsyncFixtures.awaitAll(newProject, newTask, newTask2);
+        createdProjectId = newProject.join(); // store for cleanup
+        createdTaskId = newTask.join(); // store for cleanup
+        createdTaskId2 = newTask2.join(); // store for cleanup
 
         // Associate the todo items with the project
         String jsonBody3a = String.format("""
@@ -1439,7 +1249,7 @@ public class ProjectsTest extends SystemTest {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody3a))
                 .build();
         
-        HttpResponse<String> response3a = client.send(request3a, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response3a = client.send(request3a, HttpResponse.BodyHandlers.discarding());
         assertTrue(response3a.statusCode() == 201);
 
         String jsonBody3b = String.format("""
@@ -1453,7 +1263,7 @@ public class ProjectsTest extends SystemTest {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody3b))
                 .build();
         
-        HttpResponse<String> response3b = client.send(request3b, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response3b = client.send(request3b, HttpResponse.BodyHandlers.discarding());
         assertTrue(response3b.statusCode() == 201);
         
         // Act
@@ -1511,15 +1321,7 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/projects"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .build();
-
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader = Json.createReader(new StringReader(response.body()));
-        JsonObject json = reader.readObject();
-        createdProjectId = json.getString("id").trim(); // store for cleanup
+        CompletableFuture<String> newProject = fixtures.create("/projects", jsonBody);
         
 
         // Create two initial todo items
@@ -1531,15 +1333,7 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request2a = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/todos"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody2a))
-                .build();
-
-        HttpResponse<String> response2a = client.send(request2a, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader2a = Json.createReader(new StringReader(response2a.body()));
-        JsonObject json2a = reader2a.readObject();
-        createdTaskId = json2a.getString("id").trim(); // store for cleanup
+        CompletableFuture<String> newTask = fixtures.create("/todos", jsonBody2a);
 
         String jsonBody2b = """
             {
@@ -1549,15 +1343,13 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request2b = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/todos"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody2b))
-                .build();
+        CompletableFuture<String> newTask2 = fixtures.create("/todos", jsonBody2b);
 
-        HttpResponse<String> response2b = client.send(request2b, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader2b = Json.createReader(new StringReader(response2b.body()));
-        JsonObject json2b = reader2b.readObject();
-        createdTaskId2 = json2b.getString("id").trim(); // store for cleanup
+        // Wait for the independent creates sent above
+        AsyncFixtures.awaitAll(newProject, newTask, newTask2);
+        createdProjectId = newProject.join(); // store for cleanup
+        createdTaskId = newTask.join(); // store for cleanup
+        createdTaskId2 = newTask2.join(); // store for cleanup
 
         // Associate the todo items with the project
         String jsonBody3a = String.format("""
@@ -1571,7 +1363,7 @@ public class ProjectsTest extends SystemTest {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody3a))
                 .build();
         
-        HttpResponse<String> response3a = client.send(request3a, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response3a = client.send(request3a, HttpResponse.BodyHandlers.discarding());
         assertTrue(response3a.statusCode() == 201);
 
         String jsonBody3b = String.format("""
@@ -1585,7 +1377,7 @@ public class ProjectsTest extends SystemTest {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody3b))
                 .build();
         
-        HttpResponse<String> response3b = client.send(request3b, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response3b = client.send(request3b, HttpResponse.BodyHandlers.discarding());
         assertTrue(response3b.statusCode() == 201);
 
         // Act
@@ -1615,15 +1407,7 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/projects"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .build();
-
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader = Json.createReader(new StringReader(response.body()));
-        JsonObject json = reader.readObject();
-        createdProjectId = json.getString("id").trim(); // store for cleanup
+        CompletableFuture<String> newProject = fixtures.create("/projects", jsonBody);
         
 
         // Create two initial todo items
@@ -1635,15 +1419,7 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request2a = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/todos"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody2a))
-                .build();
-
-        HttpResponse<String> response2a = client.send(request2a, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader2a = Json.createReader(new StringReader(response2a.body()));
-        JsonObject json2a = reader2a.readObject();
-        createdTaskId = json2a.getString("id").trim(); // store for cleanup
+        CompletableFuture<String> newTask = fixtures.create("/todos", jsonBody2a);
 
         String jsonBody2b = """
             {
@@ -1653,15 +1429,13 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request2b = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/todos"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody2b))
-                .build();
+        CompletableFuture<String> newTask2 = fixtures.create("/todos", jsonBody2b);
 
-        HttpResponse<String> response2b = client.send(request2b, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader2b = Json.createReader(new StringReader(response2b.body()));
-        JsonObject json2b = reader2b.readObject();
-        createdTaskId2 = json2b.getString("id").trim(); // store for cleanup
+        // Wait for the independent creates sent above
+        AsyncFixtures.awaitAll(newProject, newTask, newTask2);
+        createdProjectId = newProject.join(); // store for cleanup
+        createdTaskId = newTask.join(); // store for cleanup
+        createdTaskId2 = newTask2.join(); // store for cleanup
 
         // Associate the todo items with the project
         String jsonBody3a = String.format("""
@@ -1675,7 +1449,7 @@ public class ProjectsTest extends SystemTest {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody3a))
                 .build();
         
-        HttpResponse<String> response3a = client.send(request3a, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response3a = client.send(request3a, HttpResponse.BodyHandlers.discarding());
         assertTrue(response3a.statusCode() == 201);
 
         String jsonBody3b = String.format("""
@@ -1689,7 +1463,7 @@ public class ProjectsTest extends SystemTest {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody3b))
                 .build();
         
-        HttpResponse<String> response3b = client.send(request3b, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response3b = client.send(request3b, HttpResponse.BodyHandlers.discarding());
         assertTrue(response3b.statusCode() == 201);
 
         // Act
@@ -1699,7 +1473,7 @@ public class ProjectsTest extends SystemTest {
                 .PUT(HttpRequest.BodyPublishers.ofString(jsonBody3b))
                 .build();
 
-        HttpResponse<String> response4 = client.send(request4, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response4 = client.send(request4, HttpResponse.BodyHandlers.discarding());
 
         assertEquals(405, response4.statusCode(), "Expected HTTP 405 Method Not Allowed");
     }
@@ -1720,15 +1494,7 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/projects"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .build();
-
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader = Json.createReader(new StringReader(response.body()));
-        JsonObject json = reader.readObject();
-        createdProjectId = json.getString("id").trim(); // store for cleanup
+        CompletableFuture<String> newProject = fixtures.create("/projects", jsonBody);
         
 
         // Create two initial todo items
@@ -1740,15 +1506,7 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request2a = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/todos"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody2a))
-                .build();
-
-        HttpResponse<String> response2a = client.send(request2a, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader2a = Json.createReader(new StringReader(response2a.body()));
-        JsonObject json2a = reader2a.readObject();
-        createdTaskId = json2a.getString("id").trim(); // store for cleanup
+        CompletableFuture<String> newTask = fixtures.create("/todos", jsonBody2a);
 
         String jsonBody2b = """
             {
@@ -1758,15 +1516,13 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request2b = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/todos"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody2b))
-                .build();
+        CompletableFuture<String> newTask2 = fixtures.create("/todos", jsonBody2b);
 
-        HttpResponse<String> response2b = client.send(request2b, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader2b = Json.createReader(new StringReader(response2b.body()));
-        JsonObject json2b = reader2b.readObject();
-        createdTaskId2 = json2b.getString("id").trim(); // store for cleanup
+        // Wait for the independent creates sent above
+        AsyncFixtures.awaitAll(newProject, newTask, newTask2);
+        createdProjectId = newProject.join(); // store for cleanup
+        createdTaskId = newTask.join(); // store for cleanup
+        createdTaskId2 = newTask2.join(); // store for cleanup
 
         // Associate the todo items with the project
         String jsonBody3a = String.format("""
@@ -1780,7 +1536,7 @@ public class ProjectsTest extends SystemTest {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody3a))
                 .build();
         
-        HttpResponse<String> response3a = client.send(request3a, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response3a = client.send(request3a, HttpResponse.BodyHandlers.discarding());
         assertTrue(response3a.statusCode() == 201);
 
         String jsonBody3b = String.format("""
@@ -1794,7 +1550,7 @@ public class ProjectsTest extends SystemTest {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody3b))
                 .build();
         
-        HttpResponse<String> response3b = client.send(request3b, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response3b = client.send(request3b, HttpResponse.BodyHandlers.discarding());
         assertTrue(response3b.statusCode() == 201);
 
         // Act
@@ -1804,7 +1560,7 @@ public class ProjectsTest extends SystemTest {
                 .DELETE()
                 .build();
 
-        HttpResponse<String> response4 = client.send(request4, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response4 = client.send(request4, HttpResponse.BodyHandlers.discarding());
 
         // Get the project back to ensure association was removed
         HttpRequest request5 = HttpRequest.newBuilder()
@@ -1861,15 +1617,7 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/projects"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .build();
-
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader = Json.createReader(new StringReader(response.body()));
-        JsonObject json = reader.readObject();
-        createdProjectId = json.getString("id").trim(); // store for cleanup
+        CompletableFuture<String> newProject = fixtures.create("/projects", jsonBody);
         
 
         // Create two initial todo items
@@ -1881,15 +1629,7 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request2a = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/todos"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody2a))
-                .build();
-
-        HttpResponse<String> response2a = client.send(request2a, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader2a = Json.createReader(new StringReader(response2a.body()));
-        JsonObject json2a = reader2a.readObject();
-        createdTaskId = json2a.getString("id").trim(); // store for cleanup
+        CompletableFuture<String> newTask = fixtures.create("/todos", jsonBody2a);
 
         String jsonBody2b = """
             {
@@ -1899,15 +1639,13 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request2b = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/todos"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody2b))
-                .build();
+        CompletableFuture<String> newTask2 = fixtures.create("/todos", jsonBody2b);
 
-        HttpResponse<String> response2b = client.send(request2b, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader2b = Json.createReader(new StringReader(response2b.body()));
-        JsonObject json2b = reader2b.readObject();
-        createdTaskId2 = json2b.getString("id").trim(); // store for cleanup
+        // Wait for the independent creates sent above
+        AsyncFixtures.awaitAll(newProject, newTask, newTask2);
+        createdProjectId = newProject.join(); // store for cleanup
+        createdTaskId = newTask.join(); // store for cleanup
+        createdTaskId2 = newTask2.join(); // store for cleanup
 
         // Associate the todo items with the project
         String jsonBody3a = String.format("""
@@ -1921,7 +1659,7 @@ public class ProjectsTest extends SystemTest {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody3a))
                 .build();
         
-        HttpResponse<String> response3a = client.send(request3a, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response3a = client.send(request3a, HttpResponse.BodyHandlers.discarding());
         assertTrue(response3a.statusCode() == 201);
 
         String jsonBody3b = String.format("""
@@ -1935,7 +1673,7 @@ public class ProjectsTest extends SystemTest {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody3b))
                 .build();
         
-        HttpResponse<String> response3b = client.send(request3b, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response3b = client.send(request3b, HttpResponse.BodyHandlers.discarding());
         assertTrue(response3b.statusCode() == 201);
 
         // Act
@@ -1964,15 +1702,7 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/projects"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .build();
-
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader = Json.createReader(new StringReader(response.body()));
-        JsonObject json = reader.readObject();
-        createdProjectId = json.getString("id").trim(); // store for cleanup
+        CompletableFuture<String> newProject = fixtures.create("/projects", jsonBody);
         
 
         // Create two initial todo items
@@ -1984,15 +1714,7 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request2a = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/todos"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody2a))
-                .build();
-
-        HttpResponse<String> response2a = client.send(request2a, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader2a = Json.createReader(new StringReader(response2a.body()));
-        JsonObject json2a = reader2a.readObject();
-        createdTaskId = json2a.getString("id").trim(); // store for cleanup
+        CompletableFuture<String> newTask = fixtures.create("/todos", jsonBody2a);
 
         String jsonBody2b = """
             {
@@ -2002,15 +1724,13 @@ public class ProjectsTest extends SystemTest {
             }
             """;
 
-        HttpRequest request2b = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/todos"))
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody2b))
-                .build();
+        CompletableFuture<String> newTask2 = fixtures.create("/todos", jsonBody2b);
 
-        HttpResponse<String> response2b = client.send(request2b, HttpResponse.BodyHandlers.ofString());
-        JsonReader reader2b = Json.createReader(new StringReader(response2b.body()));
-        JsonObject json2b = reader2b.readObject();
-        createdTaskId2 = json2b.getString("id").trim(); // store for cleanup
+        // Wait for the independent creates sent above
+        AsyncFixtures.awaitAll(newProject, newTask, newTask2);
+        createdProjectId = newProject.join(); // store for cleanup
+        createdTaskId = newTask.join(); // store for cleanup
+        createdTaskId2 = newTask2.join(); // store for cleanup
 
         // Associate the todo items with the project
         String jsonBody3a = String.format("""
@@ -2024,7 +1744,7 @@ public class ProjectsTest extends SystemTest {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody3a))
                 .build();
         
-        HttpResponse<String> response3a = client.send(request3a, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response3a = client.send(request3a, HttpResponse.BodyHandlers.discarding());
         assertTrue(response3a.statusCode() == 201);
 
         String jsonBody3b = String.format("""
@@ -2038,7 +1758,7 @@ public class ProjectsTest extends SystemTest {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody3b))
                 .build();
         
-        HttpResponse<String> response3b = client.send(request3b, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response3b = client.send(request3b, HttpResponse.BodyHandlers.discarding());
         assertTrue(response3b.statusCode() == 201);
 
         // Act
@@ -2140,7 +1860,7 @@ public class ProjectsTest extends SystemTest {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
                 .build();
         
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
         assertEquals(400, response.statusCode(), "Expected HTTP 400 Bad Request");
     }
 
@@ -2177,7 +1897,7 @@ public class ProjectsTest extends SystemTest {
                 .DELETE()
                 .build();
         
-        HttpResponse<String> response2 = client.send(request2, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response2 = client.send(request2, HttpResponse.BodyHandlers.discarding());
         assertEquals(200, response2.statusCode(), "Expected HTTP 200 OK");
 
         // Attempting to delete the project again
@@ -2186,7 +1906,7 @@ public class ProjectsTest extends SystemTest {
                 .DELETE()
                 .build();
         
-        HttpResponse<String> response3 = client.send(request3, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Void> response3 = client.send(request3, HttpResponse.BodyHandlers.discarding());
         assertEquals(404, response3.statusCode(), "Expected HTTP 404 Not Found");
         
         
@@ -1,34 +1,68 @@
 package unit;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.extension.ExtendWith;
+import support.ThingifierServer;
+import support.AllocationExtension;
+import support.HealthWatchdog;
+import support.ThingifierServerExtension;
+import support.SharedHttpClient;
 
 /**
  * This class checks if system is ready to be tested
  * before running tests for todos and projects
+ * The application is started inside the test JVM (see ThingifierServerExtension)
+ * Once it is ready, HealthWatchdog aborts the remaining tests if it stops answering
  */
+@ExtendWith({ThingifierServerExtension.class, HealthWatchdog.class, AllocationExtension.class})
 public class SystemTest {
     
-    private static final String BASE_URL = "http://localhost:4567";
-    private static HttpClient client = HttpClient.newHttpClient();
-    /** Ensure the system is ready to be tested */
+    protected static final String BASE_URL = ThingifierServer.baseUrl();
+    private static HttpClient client = SharedHttpClient.get();
+    // A server that is still booting gets until the deadline, checked often at first then less and less
+    private static final Duration READY_TIMEOUT = Duration.ofMillis(Long.getLong("thingifier.readyTimeoutMs", 30000));
+    private static final Duration FIRST_RETRY = Duration.ofMillis(10);
+    private static final Duration MAX_RETRY = Duration.ofSeconds(1);
+
+    /** Ensure the system is ready to be tested, polling GET /gui with exponential backoff until READY_TIMEOUT */
     @BeforeAll
-    static void ensureSystemReady() throws IOException, InterruptedException{
-        try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(BASE_URL + "/gui")) // Guaranteed endpoint to check the status of the system
-                    .GET()
-                    .build();
-            
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            assertEquals(200, response.statusCode());
-        } catch (Exception e) {
-            throw new IllegalStateException("System is not ready or not running. Please relaunch the application.");
+    static void ensureSystemReady() throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(BASE_URL + "/gui")) // Guaranteed endpoint to check the status of the system
+                .timeout(MAX_RETRY.multipliedBy(2))
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + READY_TIMEOUT.toNanos();
+        long retry = FIRST_RETRY.toNanos();
+        while (true) {
+            String problem;
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    HealthWatchdog.watch(BASE_URL);
+                    return;
+                }
+                problem = "GET /gui answered " + response.statusCode();
+            } catch (IOException e) {
+                problem = "GET /gui failed: " + e;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                String notReady = "Todo Manager at " + BASE_URL + " is not ready after " + READY_TIMEOUT.toSeconds()
+                        + " s, last failure: " + problem;
+                // The next test classes fail at once instead of waiting for the deadline again
+                HealthWatchdog.markDown(notReady);
+                throw new IllegalStateException(notReady);
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.min(retry, remaining));
+            retry = Math.min(retry * 2, MAX_RETRY.toNanos());
         }
     }
 }
@@ -1,39 +1,41 @@
 package unit;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 import static org.junit.jupiter.api.Assertions.*;
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.*;
-import java.util.HashMap;
+import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.JsonNode;
+import support.SharedHttpClient;
+import support.AsyncFixtures;
+import support.CleanupLedger;
+import support.SystemState;
+import support.LatencyBudget;
+import support.JsonArrayStream;
+import support.SuiteReportListener;
+import support.Payloads;
 
 @TestMethodOrder(MethodOrderer.Random.class)
+@Execution(ExecutionMode.CONCURRENT)
 public class TodosTest extends SystemTest {
 
-    private static final String BASE_URL = "http://localhost:4567";
-    private static HttpClient client = HttpClient.newHttpClient();
+    private static HttpClient client = SharedHttpClient.get();
     private static ObjectMapper objectMapper = new ObjectMapper();
+    private final CleanupLedger ledger = new CleanupLedger(client, BASE_URL);
+    private final AsyncFixtures fixtures = new AsyncFixtures(client, BASE_URL, ledger);
     private String createdTodoId;
     private String createdCategoryId;
     private String createdTaskId;
 
-    Map<String, Object> todoObj = new HashMap<>() {{
-        put("title", "My Todo");
-        put("doneStatus", true);
-        put("description", "This is a todo for the project");
-    }};
-
-    Map<String, Object> catObj = new HashMap<>() {{
-        put("title", "Category");
-        put("description", "This is a category for the project");
-    }};
-
-    Map<String, Object> taskObj = new HashMap<>() {{
-        put("title", "New Task");
-    }};    
+    Map<String, Object> todoObj = Payloads.todo();
+    Map<String, Object> catObj = Payloads.category();
+    Map<String, Object> taskObj = Payloads.task();
 
     /**
      * Unit test module for testing 
@@ -50,55 +52,22 @@ public class TodosTest extends SystemTest {
 
     /** Restore system to its initial state */
     @AfterEach
-    void restoreSystemState(){
+    void restoreSystemState(TestReporter testReporter, SystemState systemState){
         // Only necessary for POST/PUT/DELETE tests to ensure ressources are returned to the original state
-        if (createdTodoId != null && !createdTodoId.isEmpty()) {
-            try {
-                HttpRequest deleteRequest = HttpRequest.newBuilder()
-                        .uri(URI.create(BASE_URL + "/todos/" + createdTodoId))
-                        .DELETE()
-                        .build();
-                
-                HttpResponse<String> deleteResponse = client.send(deleteRequest, HttpResponse.BodyHandlers.ofString());
-                if (deleteResponse.statusCode() != 200 && deleteResponse.statusCode()!= 204){
-                    System.err.println("Failed to clean up todo. Status: " + deleteResponse.statusCode());
-                }
-            } catch (IOException | InterruptedException e) {
-                System.err.println("Failed to clean up todo: " + e.getMessage());
-            }
-        }
-
-        if (createdCategoryId != null && !createdCategoryId.isEmpty()) {
-            try {
-                HttpRequest deleteRequest = HttpRequest.newBuilder()
-                        .uri(URI.create(BASE_URL + "/categories/" + createdCategoryId))
-                        .DELETE()
-                        .build();
-                
-                HttpResponse<String> deleteResponse = client.send(deleteRequest, HttpResponse.BodyHandlers.ofString());
-                if (deleteResponse.statusCode() != 200 && deleteResponse.statusCode()!= 204){
-                    System.err.println("Failed to clean up category. Status: " + deleteResponse.statusCode());
-                }
-            } catch (IOException | InterruptedException e) {
-                System.err.println("Failed to clean up category: " + e.getMessage());
-            }
+        long start = System.nanoTime();
+        if (systemState.reset()) {
+            // Server runs in this JVM and no other test is running: restore the seed data in one call
+            testReporter.publishEntry(SuiteReportListener.TEARDOWN_NANOS_KEY, String.valueOf(System.nanoTime() - start));
+            return;
         }
-
-        if (createdTaskId != null && !createdTaskId.isEmpty()) {
-            try {
-                HttpRequest deleteRequest = HttpRequest.newBuilder()
-                        .uri(URI.create(BASE_URL + "/projects/" + createdTaskId))
-                        .DELETE()
-                        .build();
-                
-                HttpResponse<String> deleteResponse = client.send(deleteRequest, HttpResponse.BodyHandlers.ofString());
-                if (deleteResponse.statusCode() != 200 && deleteResponse.statusCode()!= 204){
-                    System.err.println("Failed to clean up task. Status: " + deleteResponse.statusCode());
-                }
-            } catch (IOException | InterruptedException e) {
-                System.err.println("Failed to clean up task: " + e.getMessage());
-            }
-        }        
+        ledger.track("/todos", createdTodoId);
+        ledger.track("/categories", createdCategoryId);
+        ledger.track("/projects", createdTaskId);
+        // Delete everything this test created in one concurrent batch
+        int deletes = ledger.size();
+        Duration teardown = ledger.deleteAll();
+        testReporter.publishEntry(Map.of(SuiteReportListener.TEARDOWN_NANOS_KEY, String.valueOf(teardown.toNanos()),
+                SuiteReportListener.TEARDOWN_DELETES_KEY, String.valueOf(deletes)));
     }
 
     // -------------- Helper Methods ------------------
@@ -109,58 +78,8 @@ public class TodosTest extends SystemTest {
      * @return id of the new todo
      */
     private String createTodo(Map<String, Object> todoObj) throws IOException, InterruptedException {
-        // Create a new todo
-        String todoJson = objectMapper.writeValueAsString(todoObj);
-        // Send POST request to create a new todo
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/todos"))
-                .POST(HttpRequest.BodyPublishers.ofString(todoJson))
-                .build();
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        // Verify status code of the response
-        assertEquals(201, response.statusCode());
-        JsonNode jsonRoot = objectMapper.readTree(response.body());
-        return jsonRoot.get("id").asText();
-    }
-
-    /**
-     * Creates a category via POST for tests that require an existing category
-     * @param catObj: category object with fields and their values
-     * @return id of the new category
-     */
-    private String createCategory(Map<String, Object> catObj) throws IOException, InterruptedException {
-        // Create a new todo
-        String catJson = objectMapper.writeValueAsString(catObj);
-        // Send POST request to create a new todo
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/categories"))
-                .POST(HttpRequest.BodyPublishers.ofString(catJson))
-                .build();
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        // Verify status code of the response
-        assertEquals(201, response.statusCode());
-        JsonNode jsonRoot = objectMapper.readTree(response.body());
-        return jsonRoot.get("id").asText();
-    }
-
-    /**
-     * Creates a task via POST for tests that require an existing project
-     * @param taskObj: task object with fields and their values
-     * @return id of the new task
-     */
-    private String createTask(Map<String, Object> taskObj) throws IOException, InterruptedException {
-        // Create a new todo
-        String taskJson = objectMapper.writeValueAsString(taskObj);
-        // Send POST request to create a new todo
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/projects"))
-                .POST(HttpRequest.BodyPublishers.ofString(taskJson))
-                .build();
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        // Verify status code of the response
-        assertEquals(201, response.statusCode());
-        JsonNode jsonRoot = objectMapper.readTree(response.body());
-        return jsonRoot.get("id").asText();
+        // Send POST request to create a new todo and wait for its id
+        return AsyncFixtures.await(fixtures.create("/todos", todoObj));
     }
 
     // --------------------- /todos ----------------------
@@ -169,24 +88,27 @@ public class TodosTest extends SystemTest {
      * DOCUMENTED: Test GET /todos
      * Return all instances of todo with 200 OK
      */
-    @Test
+    @RepeatedTest(20)
     @DisplayName("GET /todos - Returns all current todo instances (200 OK) ")
+    @LatencyBudget(endpoint = "GET /todos", millis = 50, percentile = 95)
     public void testGetAllTodos() throws IOException, InterruptedException {
         // Send GET request to retrieve all todos
         HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(BASE_URL + "/todos"))
                 .GET()
                 .build();
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<JsonArrayStream> response = client.send(request, JsonArrayStream.ofArray("todos"));
         
         // Verify status code of the response
         assertEquals(200, response.statusCode());
 
-        // Verify the response body contains a list of todos
-        assertNotNull(response.body());
-        JsonNode jsonRoot = objectMapper.readTree(response.body());
-        assertTrue(jsonRoot.has("todos"));
-        assertTrue(jsonRoot.get("todos").isArray());
+        // Verify the response body contains a list of todos, read one todo at a time
+        try (JsonArrayStream todos = response.body()) {
+            assertTrue(todos.hasArray());
+            for (JsonNode todo : todos) {
+                assertTrue(todo.has("id"));
+            }
+        }
     }
 
     /**
@@ -746,11 +668,13 @@ public class TodosTest extends SystemTest {
     @Test
     @DisplayName("POST /todos/:id/categories - 201 Created")
     public void testPostTodosCategories201() throws IOException, InterruptedException { 
-       // Create new todo
-        String todoID = createTodo(todoObj);
+        // Create new todo and category at the same time
+        CompletableFuture<String> newTodo = fixtures.create("/todos", todoObj);
+        CompletableFuture<String> newCategory = fixtures.create("/categories", catObj);
+        AsyncFixtures.awaitAll(newTodo, newCategory);
+        String todoID = newTodo.join();
         createdTodoId = todoID; // Save the created todo ID for cleanup
-        // Create category
-        String catID = createCategory(catObj);
+        String catID = newCategory.join();
         createdCategoryId = catID;
         // Create category relationship to associate with the todo
         catObj.put("id", catID);
@@ -1116,12 +1040,13 @@ public class TodosTest extends SystemTest {
     @Test
     @DisplayName("POST /todos/:id/tasksof - 201 Created")
     public void testPostTodosTasksof201() throws IOException, InterruptedException { 
-        // Create new todo
-        String todoID = createTodo(todoObj);
+        // Create new todo and the task to associate with it at the same time
+        CompletableFuture<String> newTodo = fixtures.create("/todos", todoObj);
+        CompletableFuture<String> newTask = fixtures.create("/projects", taskObj);
+        AsyncFixtures.awaitAll(newTodo, newTask);
+        String todoID = newTodo.join();
         createdTodoId = todoID; // Save the created todo ID for cleanup
-
-        // Create new task to associate with the todo
-        String taskID = createTask(taskObj);
+        String taskID = newTask.join();
         createdTaskId = taskID; // for cleanup
 
         // Create tasksof relationship between todo and task